@@ -0,0 +1,647 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To implement a self-balancing (AVL) Binary Search Tree Map.
+ * Every node keeps the heights of its two subtrees within one of each other,
+ * so put, get, remove and containsKey stay O(log n) on any input order.
+ */
+
+public class AVLMap<K, V> implements MapSet<K, V>{
+
+    private Node<K,V> root;
+    private int size;
+    private Comparator<K> comparator;
+
+    /**
+     * Creates a node using the given key and value.
+     */
+    private static class Node<K, V> extends KeyValuePair<K, V>{
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private Node<K, V> parent;
+        private int height;
+
+        /**
+         * Constructor for the Node class.
+         * @param k      the key
+         * @param v      the value
+         * @param parent the parent of the node
+         */
+        public Node(K k, V v, Node<K, V> parent) {
+            super(k, v);
+            left = null;
+            right = null;
+            this.parent = parent;
+            height = 1;
+        }
+    }
+
+    /**
+     * Constructor for the AVLMap class.
+     *
+     * @param comparator the comparator to be used for sorting the keys
+     */
+    public AVLMap(Comparator<K> comparator){
+        root = null;
+        size = 0;
+
+        if(comparator != null){
+            this.comparator = comparator;
+        }
+        else{
+            this.comparator = new Comparator<K>(){
+                @Override
+                public int compare(K o1, K o2) {
+                    return ((Comparable<K>) o1).compareTo(o2);
+                }
+            };
+        }
+    }
+
+    /**
+     * Default constructor for the AVLMap class.
+     * This constructor uses the comparator as null.
+     */
+    public AVLMap(){
+        this(null);
+    }
+
+    /**
+     * Helper method to print the AVLMap in a readable format.
+     *
+     * @param cur the current node
+     * @param curDepth the current depth of the node
+     * @param sb the StringBuilder to append the string to
+     */
+    private void toString(Node<K, V> cur, int curDepth, StringBuilder sb) {
+        if (cur == null)
+            return;
+
+        toString(cur.right, curDepth + 1, sb);
+        sb.append("\t".repeat(curDepth) + cur + "\n");
+        toString(cur.left, curDepth + 1, sb);
+    }
+
+    /**
+     * Prints the AVLMap in a readable format.
+     *
+     * @return the string representation of the AVLMap
+     */
+    public String toString() {
+        if (size() == 0) return "(empty AVL)";
+        StringBuilder sb = new StringBuilder();
+        toString(this.root, 0, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Clears the AVLMap.
+     * This method sets the root to null and size to 0.
+     */
+    public void clear(){
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the node holding the given key, or null if there is none.
+     *
+     * @param key the key to be searched
+     * @return the node holding the key, or null if the key is not found
+     */
+    private Node<K, V> find(K key){
+        Node<K, V> cur = root;
+        while (cur != null){
+            int cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0) return cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key   key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with key, or
+     *         null if there was no mapping for key.
+     */
+    public V put(K key, V value){
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0){
+                V oldValue = cur.getValue();
+                cur.setValue(value);
+                return oldValue;
+            }
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        insert(parent, cmp, key, value);
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key to a value.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     *         key to a value.
+     */
+    public boolean containsKey(K key){
+        return find(key) != null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     *         {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key){
+        Node<K, V> node = find(key);
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null.
+     * The node is located (or inserted) in a single walk down the tree.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0){
+                V oldValue = cur.getValue();
+                V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+                if (newValue == null){
+                    delete(cur);
+                }
+                else {
+                    cur.setValue(newValue);
+                }
+                return newValue;
+            }
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        insert(parent, cmp, key, value);
+        return value;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent).
+     * The node is located (or inserted) in a single walk down the tree.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0){
+                V newValue = remappingFunction.apply(key, cur.getValue());
+                if (newValue == null){
+                    delete(cur);
+                }
+                else {
+                    cur.setValue(newValue);
+                }
+                return newValue;
+            }
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        V newValue = remappingFunction.apply(key, null);
+        if (newValue != null){
+            insert(parent, cmp, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. More formally,
+     * if this map contains a mapping from key {@code k} to value {@code v} such
+     * that {@code key.equals(k)}, that mapping is removed. (The map can contain at
+     * most one such mapping.)
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     */
+    public V remove(K key){
+        Node<K, V> toDelete = find(key);
+        if (toDelete == null) return null; // key not found
+        delete(toDelete);
+        return toDelete.getValue();
+    }
+
+    /**
+     * Links a new node below the given parent and rebalances the path to the root.
+     *
+     * @param parent the node the new node hangs from, or null if the tree is empty
+     * @param cmp    the result of comparing the new key with the parent's key
+     * @param key    the key to be added
+     * @param value  the value to be added
+     */
+    private void insert(Node<K, V> parent, int cmp, K key, V value){
+        Node<K, V> node = new Node<>(key, value, parent);
+        if (parent == null){
+            root = node;
+        }
+        else if (cmp < 0){
+            parent.left = node;
+        }
+        else {
+            parent.right = node;
+        }
+        size++;
+        rebalanceFrom(parent);
+    }
+
+    /**
+     * Unlinks the given node from the tree and rebalances the path to the root.
+     * When the node has two children, its in-order successor takes its place.
+     *
+     * @param toDelete the node to be deleted
+     */
+    private void delete(Node<K, V> toDelete){
+        Node<K, V> fixFrom;
+        if (toDelete.left == null){
+            // Case: no children or only right child.
+            fixFrom = toDelete.parent;
+            transplant(toDelete, toDelete.right);
+        }
+        else if (toDelete.right == null){
+            // Case: only left child.
+            fixFrom = toDelete.parent;
+            transplant(toDelete, toDelete.left);
+        }
+        else {
+            // Find the in-order successor (smallest node in the right subtree).
+            Node<K, V> successor = toDelete.right;
+            while (successor.left != null){
+                successor = successor.left;
+            }
+            if (successor.parent != toDelete){
+                // Detach the successor, then give it the right subtree of the node being deleted.
+                fixFrom = successor.parent;
+                transplant(successor, successor.right);
+                successor.right = toDelete.right;
+                successor.right.parent = successor;
+            }
+            else {
+                fixFrom = successor;
+            }
+            transplant(toDelete, successor);
+            successor.left = toDelete.left;
+            successor.left.parent = successor;
+        }
+        size--;
+        rebalanceFrom(fixFrom);
+    }
+
+    /**
+     * Replaces the subtree rooted at one node with the subtree rooted at another.
+     *
+     * @param oldNode the node being replaced
+     * @param newNode the node taking its place, may be null
+     */
+    private void transplant(Node<K, V> oldNode, Node<K, V> newNode){
+        replaceChild(oldNode.parent, oldNode, newNode);
+        if (newNode != null){
+            newNode.parent = oldNode.parent;
+        }
+    }
+
+    /**
+     * Points the parent's link to oldChild at newChild instead.
+     *
+     * @param parent   the parent of oldChild, or null if oldChild is the root
+     * @param oldChild the current child
+     * @param newChild the replacement child
+     */
+    private void replaceChild(Node<K, V> parent, Node<K, V> oldChild, Node<K, V> newChild){
+        if (parent == null){
+            root = newChild;
+        }
+        else if (parent.left == oldChild){
+            parent.left = newChild;
+        }
+        else {
+            parent.right = newChild;
+        }
+    }
+
+    /**
+     * Walks from the given node up to the root, updating heights and rotating
+     * any node whose subtree heights differ by more than one.
+     *
+     * @param node the lowest node whose subtree changed, may be null
+     */
+    private void rebalanceFrom(Node<K, V> node){
+        while (node != null){
+            updateHeight(node);
+            node = balance(node);
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Restores the AVL property at the given node with one or two rotations.
+     *
+     * @param node the node to be balanced
+     * @return the root of the balanced subtree
+     */
+    private Node<K, V> balance(Node<K, V> node){
+        int balanceFactor = height(node.left) - height(node.right);
+        if (balanceFactor > 1){
+            if (height(node.left.left) < height(node.left.right)){
+                rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1){
+            if (height(node.right.right) < height(node.right.left)){
+                rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the left.
+     *
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private Node<K, V> rotateLeft(Node<K, V> node){
+        Node<K, V> pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null){
+            pivot.left.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the right.
+     *
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private Node<K, V> rotateRight(Node<K, V> node){
+        Node<K, V> pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null){
+            pivot.right.parent = node;
+        }
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Returns the stored height of a node, 0 for an empty subtree.
+     *
+     * @param node the node
+     * @return the height of the subtree rooted at node
+     */
+    private int height(Node<K, V> node){
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Recomputes the height of a node from its children.
+     *
+     * @param node the node to be updated
+     */
+    private void updateHeight(Node<K, V> node){
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map, in sorted order.
+     *
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<K> keySet(){
+        ArrayList<K> keys = new ArrayList<>(size);
+        ArrayList<KeyValuePair<K, V>> entries = entrySet();
+        for (KeyValuePair<K, V> entry : entries){
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns an ArrayList of all the values in the map in the same order as the
+     * keys as returned by keySet().
+     *
+     * @return an ArrayList of all the values in the map in the same order as the
+     *         keys as returned by keySet().
+     */
+    public ArrayList<V> values(){
+        ArrayList<V> values = new ArrayList<>(size);
+        ArrayList<KeyValuePair<K, V>> entries = entrySet();
+        for (KeyValuePair<K, V> entry : entries){
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet().
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the keys as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<K, V>> entrySet(){
+        ArrayList<KeyValuePair<K, V>> entries = new ArrayList<>(size);
+        entrySet(root, entries);
+        return entries;
+    }
+
+    /**
+     * Helper method to collect the nodes of the AVLMap in sorted order.
+     *
+     * @param cur     the current node
+     * @param entries the ArrayList to store the nodes
+     */
+    private void entrySet(Node<K, V> cur, ArrayList<KeyValuePair<K, V>> entries){
+        if (cur == null) return;
+        entrySet(cur.left, entries);
+        entries.add(cur);
+        entrySet(cur.right, entries);
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in key order.
+     * The pairs are the map's own nodes; each step follows parent links to the
+     * in-order successor, so the iterator needs no stack and copies nothing.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map, in key order
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return new Iterator<KeyValuePair<K, V>>() {
+            private Node<K, V> next = leftmost(root);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if (next == null) throw new NoSuchElementException();
+                Node<K, V> cur = next;
+                if (cur.right != null) {
+                    next = leftmost(cur.right);
+                }
+                else {
+                    // Climb until we arrive from a left child; that parent is the successor
+                    Node<K, V> child = cur;
+                    next = cur.parent;
+                    while (next != null && next.right == child) {
+                        child = next;
+                        next = next.parent;
+                    }
+                }
+                return cur;
+            }
+        };
+    }
+
+    /**
+     * Helper method to find the node with the smallest key in a subtree.
+     *
+     * @param cur the root of the subtree, or null
+     * @return the leftmost node of the subtree, or null if it is empty
+     */
+    private Node<K, V> leftmost(Node<K, V> cur){
+        if (cur == null) return null;
+        while (cur.left != null){
+            cur = cur.left;
+        }
+        return cur;
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map.
+     *
+     * @return the maximum depth of the AVLMap
+     */
+    public int maxDepth(){
+        return height(root);
+    }
+
+    /**
+     * Returns the number of unbalanced keys in the AVLMap.
+     * A key is considered unbalanced if the difference between the heights of its
+     * left and right subtrees is greater than 1. This is always 0 for an AVLMap.
+     *
+     * @return the number of unbalanced keys in the AVLMap
+     */
+    public int numberOfUnbalancedKeys(){
+        return unbalancedKeys(root);
+    }
+
+    /**
+     * Helper method to count the number of unbalanced keys in the AVLMap.
+     *
+     * @param node the current node
+     * @return the number of unbalanced keys in the subtree rooted at node
+     */
+    private int unbalancedKeys(Node<K,V> node){
+        if(node==null) return 0;
+
+        int balanceFactor = Math.abs(height(node.left)-height(node.right));
+
+        int count = balanceFactor>1? 1:0;
+
+        return count + unbalancedKeys(node.left) + unbalancedKeys(node.right);
+    }
+
+    public static void main(String[] args){
+        AVLMap<Integer, String> map = new AVLMap<>();
+
+        System.out.println("-".repeat(50));
+        System.out.println("Testing unbalanced keys in AVLMap\n");
+
+        //Insert keys in sorted order, which makes a plain BSTMap a linked list
+        for (int i = 1; i <= 7; i++){
+            map.put(i, String.valueOf(i));
+        }
+
+        System.out.println("Map: \n" + map);
+        System.out.println("Size: " + map.size() + ", Should be 7");
+        System.out.println("Max Depth: " + map.maxDepth() + ", Should be 3");
+        System.out.println("Unbalanced Keys: " + map.numberOfUnbalancedKeys() + ", Should be 0");
+
+        System.out.println("-".repeat(20));
+        System.out.println("Add 1000 more sorted keys, then remove every other one\n");
+        for (int i = 8; i <= 1007; i++){
+            map.put(i, String.valueOf(i));
+        }
+        for (int i = 1; i <= 1007; i += 2){
+            map.remove(i);
+        }
+
+        System.out.println("Size: " + map.size() + ", Should be 503");
+        System.out.println("Max Depth: " + map.maxDepth() + ", Should be at most " + (int) Math.ceil(1.44 * Math.log(map.size() + 2) / Math.log(2)));
+        System.out.println("Unbalanced Keys: " + map.numberOfUnbalancedKeys() + ", Should be 0");
+        System.out.println("keySet starts with: " + map.keySet().subList(0, 5) + ", Should be [2, 4, 6, 8, 10]");
+    }
+}
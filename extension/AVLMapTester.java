@@ -0,0 +1,116 @@
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the AVLMap class.
+ */
+
+public class AVLMapTester {
+
+    /**
+     * Returns the largest height an AVL tree with n keys can have, about 1.44 log2(n + 2).
+     *
+     * @param n the number of keys
+     * @return the height bound for n keys
+     */
+    private static int heightBound(int n){
+        return (int) Math.ceil(1.44 * Math.log(n + 2) / Math.log(2));
+    }
+
+    /**
+     * Testing put, get, containsKey, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        AVLMap<String, Integer> map = new AVLMap<>();
+        map.put( "thou", 1 );
+        map.put( "the", 2 );
+        map.put( "thy", 3 );
+        Integer oldValue = map.put( "the", 4 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Put the again --- old value is " + oldValue + ", should be 2" );
+        System.out.println( "Get the --- value is " + map.get( "the" ) + ", should be 4" );
+        System.out.println( "Remove thou --- value is " + removed + ", should be 1" );
+        System.out.println( "Remove thou again --- value is " + map.remove( "thou" ) + ", should be null" );
+        System.out.println( "Contains thou: " + map.containsKey( "thou" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+        System.out.println( "keySet: " + map.keySet() + ", should be [the, thy]" );
+    }
+
+    /**
+     * Testing the height bound on sorted input, which makes a plain BSTMap a linked list
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        AVLMap<Integer, Integer> map = new AVLMap<>();
+        for (int i = 1; i <= 1023; i++){
+            map.put( i, i );
+        }
+        int fullDepth = map.maxDepth();
+        for (int i = 1023; i > 511; i--){
+            map.remove( i );
+        }
+        System.out.println("For test 2: the following values should be equal: " );
+        System.out.println( "Max depth of 1023 sorted keys: " + fullDepth + ", should be at most " + heightBound(1023) );
+        System.out.println( "Max depth after removing the top half: " + map.maxDepth() + ", should be at most " + heightBound(511) );
+        System.out.println( "Unbalanced keys: " + map.numberOfUnbalancedKeys() + ", should be 0" );
+        System.out.println( "Size: " + map.size() + ", should be 511" );
+    }
+
+    /**
+     * Testing random puts and removes against java.util.TreeMap
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        AVLMap<Integer, Integer> map = new AVLMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random rand = new Random(231);
+        boolean sameResults = true;
+        for (int i = 0; i < 20000; i++){
+            int key = rand.nextInt(2000);
+            if (rand.nextInt(3) == 0){
+                sameResults = sameResults && Objects.equals( map.remove( key ), expected.remove( key ) );
+            }
+            else {
+                sameResults = sameResults && Objects.equals( map.put( key, i ), expected.put( key, i ) );
+            }
+        }
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Every put and remove returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same keys in order: " + map.keySet().equals( new ArrayList<>(expected.keySet()) ) + ", should be true" );
+        System.out.println( "Same values in order: " + map.values().equals( new ArrayList<>(expected.values()) ) + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be " + expected.size() );
+        System.out.println( "Unbalanced keys: " + map.numberOfUnbalancedKeys() + ", should be 0" );
+        System.out.println( "Max depth: " + map.maxDepth() + ", should be at most " + heightBound(expected.size()) );
+    }
+
+    /**
+     * Testing merge and compute, including removal by a null result
+     */
+    public static void test4(){
+        System.out.println("-".repeat(30) + "\nTest4: ");
+        AVLMap<String, Integer> map = new AVLMap<>();
+        map.merge( "the", 1, Integer::sum );
+        map.merge( "the", 1, Integer::sum );
+        map.compute( "thy", (k, v) -> v == null ? 10 : v + 1 );
+        map.compute( "thy", (k, v) -> v == null ? 10 : v + 1 );
+        map.merge( "the", 1, (a, b) -> null );
+        System.out.println("For test 4: the following values should be equal: " );
+        System.out.println( "Get thy --- value is " + map.get( "thy" ) + ", should be 11" );
+        System.out.println( "Contains the after merge to null: " + map.containsKey( "the" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 1" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+        test4();
+    }
+
+}
@@ -5,6 +5,9 @@
  */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.BiFunction;
 
 public class ArrayListMap<K, V> implements MapSet<K, V>{
     private ArrayList<KeyValuePair<K, V>> list;
@@ -75,6 +78,72 @@ public class ArrayListMap<K, V> implements MapSet<K, V>{
         return null;
     }
 
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is {@code null}.
+     * The list is scanned only once.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with {@code key} if it is absent
+     * @param remappingFunction the function to recompute a value if {@code key} is present
+     * @return the new value associated with {@code key}, or {@code null} if no
+     *         value is associated with {@code key}
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        for(int i = 0; i<list.size(); i++){
+            KeyValuePair<K, V> pair = list.get(i);
+            if(pair.getKey().equals(key)){
+                V oldValue = pair.getValue();
+                V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+                if(newValue == null){
+                    list.remove(i);
+                    size--;
+                }
+                else{
+                    pair.setValue(newValue);
+                }
+                return newValue;
+            }
+        }
+        list.add(new KeyValuePair<K, V>(key, value));
+        size++;
+        return value;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value ({@code null} if there is no current mapping). If the function returns
+     * {@code null}, the mapping is removed (or remains absent if initially absent).
+     * The list is scanned only once.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with {@code key}, or {@code null} if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        for(int i = 0; i<list.size(); i++){
+            KeyValuePair<K, V> pair = list.get(i);
+            if(pair.getKey().equals(key)){
+                V newValue = remappingFunction.apply(key, pair.getValue());
+                if(newValue == null){
+                    list.remove(i);
+                    size--;
+                }
+                else{
+                    pair.setValue(newValue);
+                }
+                return newValue;
+            }
+        }
+        V newValue = remappingFunction.apply(key, null);
+        if(newValue != null){
+            list.add(new KeyValuePair<K, V>(key, newValue));
+            size++;
+        }
+        return newValue;
+    }
+
     /**
      * Removes the mapping for a key from this map if it is present. More formally,
      * if this map contains a mapping from key {@code k} to value {@code v} such
@@ -154,6 +223,18 @@ public class ArrayListMap<K, V> implements MapSet<K, V>{
         size = 0;
     }
 
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(). The pairs are the map's own
+     * entries, read straight from the list (through a read-only view, so the
+     * iterator cannot remove entries behind the map's back).
+     * 
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return Collections.unmodifiableList(list).iterator();
+    }
+
     /**
      * Returns the maximal number of iterations to find any particular element of
      * the Map.
@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To measure the throughput of several threads counting a
+ * corpus into one shared, thread-safe map (ParallelCounter.countFileShared),
+ * for 1 to 32 threads, with a lock-striped StripedHashMap and a lock-free
+ * LockFreeCounterMap, and to check that the shared counts match a
+ * single-threaded count exactly.
+ *
+ * How to run:     java ConcurrentCountBenchmark [filename] [threads ...]
+ */
+
+public class ConcurrentCountBenchmark {
+
+    private static final int WARMUP = 2;
+    private static final int TRIALS = 5;
+
+    /**
+     * Counts the file into a new shared map with the given number of threads
+     * WARMUP + TRIALS times and prints the median time and throughput of the
+     * timed runs. Returns the map from the last run.
+     *
+     * @param name     the name of the map, for printing
+     * @param newMap   returns a new, empty thread-safe map
+     * @param filename the name of the file to be counted
+     * @param threads  the number of threads
+     * @return the map from the last run
+     * @throws IOException if the file cannot be read
+     */
+    private static MapSet<String, Integer> measure(String name, Supplier<MapSet<String, Integer>> newMap,
+                                                   String filename, int threads) throws IOException {
+        MapSet<String, Integer> map = null;
+        long words = 0;
+        for (int i = 0; i < WARMUP; i++){
+            map = newMap.get();
+            ParallelCounter.countFileShared(filename, threads, map);
+        }
+
+        long[] samples = new long[TRIALS];
+        for (int i = 0; i < TRIALS; i++){
+            map = newMap.get();
+            long startTime = System.nanoTime();
+            words = ParallelCounter.countFileShared(filename, threads, map);
+            samples[i] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(samples);
+        long median = samples[TRIALS / 2];
+        System.out.printf("%-16s %2d thread(s)  %8.2f ms  %,14.0f words/s%n",
+                name, threads, median / 1e6, words * 1e9 / median);
+        return map;
+    }
+
+    /**
+     * Checks that every increment landed: prints a warning unless the map holds
+     * exactly the counts of the single-threaded count.
+     *
+     * @param map      the map counted by several threads
+     * @param expected the single-threaded count of the same file
+     */
+    private static void verify(MapSet<String, Integer> map, WordCounter expected){
+        boolean same = map.size() == expected.uniqueWordCount();
+        for (MapSet.KeyValuePair<String, Integer> entry : map){
+            same = same && entry.getValue() == expected.getCount( entry.getKey() );
+        }
+        if (!same){
+            System.out.println("  counts differ from a single-threaded count!");
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] filenames = args.length > 0 ? new String[] {args[0]} : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        TreeSet<Integer> threadCounts = new TreeSet<>();
+        for (int t = 1; t <= 32; t *= 2){
+            threadCounts.add(t);
+        }
+        for (int i = 1; i < args.length; i++){
+            threadCounts.add(Integer.parseInt(args[i]));
+        }
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        for (String filename : filenames){
+            WordCounter expected = new WordCounter( "HashMap" );
+            if (expected.countFile( filename ) < 0) continue;
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + expected.totalWordCount() + " words)\n");
+
+            for (int threads : threadCounts){
+                verify(measure("StripedHashMap", StripedHashMap::new, filename, threads), expected);
+                verify(measure("LockFreeCounter", LockFreeCounterMap::new, filename, threads), expected);
+            }
+        }
+    }
+}
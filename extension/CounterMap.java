@@ -0,0 +1,48 @@
+/**
+ * Interface for a data structure that counts occurrences of keys with
+ * primitive counts, so that counting an existing key never allocates.
+ *
+ * @author Muneeb Azfar Nafees
+ */
+
+public interface CounterMap<K> {
+
+    /**
+     * Adds one to the count of the specified key, starting it at 1 if the
+     * key has not been counted before.
+     *
+     * @param key the key to be counted
+     * @return the count of {@code key} after the increment
+     */
+    public int increment(K key);
+
+    /**
+     * Adds the given amount to the count of the specified key, starting it
+     * at {@code delta} if the key has not been counted before.
+     *
+     * @param key   the key to be counted
+     * @param delta the amount to add to the count
+     * @return the count of {@code key} after the increment
+     */
+    public int increment(K key, int delta);
+
+    /**
+     * Adds the given amount to the count of the specified key, like
+     * increment, but without reading the count back. Maps whose counts are
+     * costly to read, such as LongAdders, override this to skip the read.
+     *
+     * @param key   the key to be counted
+     * @param delta the amount to add to the count
+     */
+    public default void add(K key, int delta) {
+        increment(key, delta);
+    }
+
+    /**
+     * Returns the count of the specified key, or 0 if it has not been counted.
+     *
+     * @param key the key whose count is to be returned
+     * @return the count of {@code key}, or 0 if it has not been counted
+     */
+    public int getCount(K key);
+}
@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the built-in HashFunctions on each corpus: the
+ * cost of hashing in nanoseconds per key, over every word of the corpus, and
+ * how evenly each one spreads the vocabulary over the buckets of a HashMap
+ * (the number of buckets with each chain length, the longest chain and the
+ * average number of nodes visited to find a key).
+ *
+ * How to run:     java HashFunctionBenchmark [filename ...]
+ */
+
+public class HashFunctionBenchmark {
+
+    // Keeps the hashes alive so the JIT cannot skip computing them
+    private static int sink;
+
+    /**
+     * Prints the hashing cost and the bucket distribution of one hash function.
+     *
+     * @param harness    times the hashing
+     * @param name       the name of the hash function
+     * @param function   the hash function
+     * @param words      every word of the corpus
+     * @param vocabulary each distinct word of the corpus once
+     */
+    private static void measure(BenchmarkHarness harness, String name, HashFunction<String> function,
+                                ArrayList<String> words, ArrayList<String> vocabulary){
+        // Fresh copies before each run, since a String caches its own hashCode
+        ArrayList<String> copies = new ArrayList<>(words.size());
+        BenchmarkHarness.Result result = harness.run(name, words.size(), () -> {
+            copies.clear();
+            for (String word : words){
+                copies.add(new String(word));
+            }
+        }, () -> {
+            int h = 0;
+            for (String word : copies){
+                h += function.hash(word);
+            }
+            sink += h;
+        });
+
+        HashMap<String, Integer> map = new HashMap<>(function);
+        for (String word : vocabulary){
+            map.put(word, 0);
+        }
+        int[] counts = map.chainLengthCounts();
+        long probes = 0;
+        StringBuilder histogram = new StringBuilder();
+        for (int length = 0; length < counts.length; length++){
+            // Finding the i-th node of a chain visits i nodes
+            probes += (long) counts[length] * length * (length + 1) / 2;
+            histogram.append(length).append(':').append(counts[length]).append(' ');
+        }
+
+        System.out.printf("%-12s %7.2f ns/key   max chain %2d   avg probes %.3f   (%d buckets)%n",
+                name, result.median() / (double) words.size(), map.maxDepth(),
+                (double) probes / map.size(), map.capacity());
+        System.out.println("             chain length:buckets  " + histogram.toString().trim());
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            WordCounter wc = new WordCounter( "HashMap" );
+            ArrayList<String> words = wc.readWords( filename );
+            if (words == null) continue;
+            HashMap<String, Integer> distinct = new HashMap<>();
+            for (String word : words){
+                distinct.put(word, 0);
+            }
+            ArrayList<String> vocabulary = distinct.keySet();
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + words.size() + " words, "
+                    + vocabulary.size() + " distinct)\n");
+            BenchmarkHarness harness = new BenchmarkHarness(5, 20);
+            measure(harness, "JDK", HashFunction.jdk(), words, vocabulary);
+            measure(harness, "Polynomial", HashFunction.polynomial(), words, vocabulary);
+            measure(harness, "FNV-1a", HashFunction.fnv1a(), words, vocabulary);
+            measure(harness, "Murmur3", HashFunction.murmur3(), words, vocabulary);
+        }
+    }
+}
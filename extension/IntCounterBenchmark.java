@@ -0,0 +1,64 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the heap allocated per counted word by a
+ * WordCounter backed by a HashMap of Integers with one backed by an
+ * IntCounterMap of primitive counts. The vocabulary is built once first,
+ * so the figures are for counting words that are already in the map.
+ *
+ * How to run:     java IntCounterBenchmark
+ */
+
+public class IntCounterBenchmark {
+
+    private static final int TRIALS = 10;
+
+    /**
+     * Returns the number of bytes the current thread has allocated so far.
+     *
+     * @return the bytes allocated by the current thread
+     */
+    private static long allocatedBytes(){
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Counts the words once to fill the vocabulary, then counts them again
+     * TRIALS times and prints the bytes allocated and the time per word.
+     *
+     * @param dataStructure the WordCounter data structure to measure
+     * @param words         the words of the corpus
+     */
+    private static void measure(String dataStructure, ArrayList<String> words){
+        WordCounter wc = new WordCounter( dataStructure );
+        wc.buildMap( words );
+
+        long startBytes = allocatedBytes();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < TRIALS; i++){
+            wc.buildMap( words );
+        }
+        double nanosPerWord = (double) (System.nanoTime() - startTime) / ((long) TRIALS * words.size());
+        double bytesPerWord = (double) (allocatedBytes() - startBytes) / ((long) TRIALS * words.size());
+
+        System.out.printf("%-12s %7.2f bytes allocated/word, %6.1f ns/word (\"thou\" counted %d times)%n",
+                dataStructure, bytesPerWord, nanosPerWord, wc.getCount( "thou" ));
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            ArrayList<String> words = new WordCounter( "HashMap" ).readWords( filename );
+            if (words == null) continue;
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + words.size() + " words)\n");
+            measure("HashMap", words);
+            measure("IntCounter", words);
+        }
+    }
+}
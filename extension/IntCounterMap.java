@@ -0,0 +1,501 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of the class: A hash map from keys to primitive int counts.
+ * Keys, counts and hashes live in flat arrays with linear probing, so
+ * incrementing the count of a key that is already present allocates nothing:
+ * no Node and no boxed Integer. It is also a MapSet, so everything that reads
+ * a MapSet (keySet, entrySet, getTop10Words, writeWordCount) still works;
+ * only those boxed views allocate Integers.
+ */
+
+public class IntCounterMap<K> implements MapSet<K, Integer>, CounterMap<K> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int size;
+    private K[] keys;
+    private int[] counts;
+    // Spread hash of the key in each slot; 0 marks an empty slot
+    private int[] hashes;
+    private double maxLoadFactor;
+
+    /**
+     * Constructor for the IntCounterMap class.
+     * Initializes the size to 0 and the arrays to a default capacity of 16.
+     */
+    public IntCounterMap(){
+        this(16, 0.75);
+    }
+
+    /**
+     * Constructor for the IntCounterMap class.
+     * Initializes the size to 0, the arrays to the given capacity,
+     * and the max load factor to the given load factor.
+     *
+     * @param capacity   the initial capacity, rounded up to a power of two
+     * @param loadFactor the maximum load factor, which must be below 1
+     * @throws IllegalArgumentException if the load factor is not between 0 and 1
+     */
+    public IntCounterMap(int capacity, double loadFactor){
+        // At a load factor of 1 the table can fill up, and probing for a new key never ends
+        if (!(loadFactor > 0 && loadFactor < 1)){
+            throw new IllegalArgumentException("Load factor must be between 0 and 1, exclusive: " + loadFactor);
+        }
+        this.maxLoadFactor = loadFactor;
+        int n = MIN_CAPACITY;
+        while (n < capacity){
+            n *= 2;
+        }
+        allocate(n);
+        this.size = 0;
+    }
+
+    /**
+     * Replaces the arrays with empty arrays of the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void allocate(int capacity){
+        keys = (K[]) new Object[capacity];
+        counts = new int[capacity];
+        hashes = new int[capacity];
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots
+     */
+    public int capacity(){
+        return hashes.length;
+    }
+
+    /**
+     * Returns the spread hash of the given key. Never returns 0, which marks empty slots.
+     *
+     * @param key the key to be hashed
+     * @return the spread, non-zero hash of the key
+     */
+    private static int hash(Object key){
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Returns the slot holding the given key, or the empty slot where it would
+     * be inserted, encoded as {@code -(slot + 1)}.
+     *
+     * @param key the key to be searched
+     * @param h   the hash of the key
+     * @return the slot of the key, or {@code -(slot + 1)} for the empty slot
+     */
+    private int probe(K key, int h){
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        while (true){
+            int slotHash = hashes[slot];
+            if (slotHash == 0){
+                return -(slot + 1);
+            }
+            if (slotHash == h && keys[slot].equals(key)){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Adds one to the count of the specified key, starting it at 1 if the
+     * key has not been counted before.
+     *
+     * @param key the key to be counted
+     * @return the count of key after the increment
+     */
+    public int increment(K key){
+        return increment(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the specified key, starting it
+     * at delta if the key has not been counted before.
+     *
+     * @param key   the key to be counted
+     * @param delta the amount to add to the count
+     * @return the count of key after the increment
+     */
+    public int increment(K key, int delta){
+        int h = hash(key);
+        int slot = probe(key, h);
+        if (slot >= 0){
+            counts[slot] += delta;
+            return counts[slot];
+        }
+        insertAt(-(slot + 1), h, key, delta);
+        return delta;
+    }
+
+    /**
+     * Returns the count of the specified key, or 0 if it has not been counted.
+     *
+     * @param key the key whose count is to be returned
+     * @return the count of key, or 0 if it has not been counted
+     */
+    public int getCount(K key){
+        int slot = probe(key, hash(key));
+        return slot >= 0 ? counts[slot] : 0;
+    }
+
+    /**
+     * Stores a new key in the given empty slot, growing the table afterwards
+     * if the max load factor has been passed.
+     *
+     * @param slot  the empty slot where the probe for the key ended
+     * @param h     the hash of the key
+     * @param key   the key to be added
+     * @param count the count of the key
+     */
+    private void insertAt(int slot, int h, K key, int count){
+        hashes[slot] = h;
+        keys[slot] = key;
+        counts[slot] = count;
+        size++;
+        if (size > capacity() * maxLoadFactor){
+            resize(capacity() * 2);
+        }
+    }
+
+    /**
+     * Moves every entry into new arrays of the given capacity, reusing the stored hashes.
+     *
+     * @param newCapacity the new capacity, a power of two
+     */
+    private void resize(int newCapacity){
+        K[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int[] oldHashes = hashes;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldHashes.length; i++){
+            if (oldHashes[i] != 0){
+                int slot = oldHashes[i] & mask;
+                while (hashes[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Empties the given slot, moving later entries of the same cluster back
+     * so that every remaining key can still be reached by probing.
+     *
+     * @param slot the slot to be emptied
+     */
+    private void removeAt(int slot){
+        int mask = hashes.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (hashes[next] != 0){
+            int home = hashes[next] & mask;
+            // The entry may fill the gap if its home slot is not between the gap and itself
+            if (((next - home) & mask) >= ((next - gap) & mask)){
+                hashes[gap] = hashes[next];
+                keys[gap] = keys[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        hashes[gap] = 0;
+        keys[gap] = null;
+        counts[gap] = 0;
+        size--;
+
+        // Check if the size is less than the threshold to downsize: fC/4
+        if (capacity() > MIN_CAPACITY && size < (capacity() * maxLoadFactor) / 4){
+            resize(capacity() / 2);
+        }
+    }
+
+    /**
+     * Return the number of counted keys (size).
+     *
+     * @return the number of counted keys (size)
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Resets the fields of the IntCounterMap to their default values.
+     */
+    public void clear(){
+        allocate(16);
+        size = 0;
+    }
+
+    /**
+     * Returns the string representation of the IntCounterMap.
+     *
+     * @return the string representation of the IntCounterMap
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < capacity(); i++) {
+            sb.append("slot ").append(i).append(": ");
+            if (hashes[i] != 0) {
+                sb.append("<").append(keys[i]).append(" -> ").append(counts[i]).append(">");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Sets the count of the given key. Does nothing if value is null.
+     *
+     * @param key   the key to be added
+     * @param value the count to be stored
+     * @return the old count of the key, or null if it had not been counted
+     */
+    public Integer put(K key, Integer value){
+        if (value == null) return get(key);
+        int h = hash(key);
+        int slot = probe(key, h);
+        if (slot >= 0){
+            int oldCount = counts[slot];
+            counts[slot] = value;
+            return oldCount;
+        }
+        insertAt(-(slot + 1), h, key, value);
+        return null;
+    }
+
+    /**
+     * If the specified key has not been counted, stores the given count.
+     * Otherwise, replaces the count with the result of the given remapping
+     * function, or removes the key if the result is null.
+     *
+     * @param key               key with which the resulting count is to be associated
+     * @param value             the count to be stored if key is absent
+     * @param remappingFunction the function to recompute a count if key is present
+     * @return the new count of key, or null if key is no longer counted
+     */
+    public Integer merge(K key, Integer value, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction){
+        int h = hash(key);
+        int slot = probe(key, h);
+        if (slot >= 0){
+            Integer newValue = remappingFunction.apply(counts[slot], value);
+            if (newValue == null){
+                removeAt(slot);
+            }
+            else {
+                counts[slot] = newValue;
+            }
+            return newValue;
+        }
+        if (value != null){
+            insertAt(-(slot + 1), h, key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to compute a count for the specified key and its current count
+     * (null if it has not been counted). If the function returns null, the key
+     * is removed (or remains absent if initially absent).
+     *
+     * @param key               key with which the resulting count is to be associated
+     * @param remappingFunction the function to compute a count
+     * @return the new count of key, or null if none
+     */
+    public Integer compute(K key, BiFunction<? super K, ? super Integer, ? extends Integer> remappingFunction){
+        int h = hash(key);
+        int slot = probe(key, h);
+        if (slot >= 0){
+            Integer newValue = remappingFunction.apply(key, counts[slot]);
+            if (newValue == null){
+                removeAt(slot);
+            }
+            else {
+                counts[slot] = newValue;
+            }
+            return newValue;
+        }
+        Integer newValue = remappingFunction.apply(key, null);
+        if (newValue != null){
+            insertAt(-(slot + 1), h, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a count for the specified key.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a count for the specified key
+     */
+    public boolean containsKey(K key){
+        return probe(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Returns the count of the given key as an Integer, or null if it has not been counted.
+     * Use getCount to read a count without boxing.
+     *
+     * @param key the key to be searched
+     * @return the count of the key, or null if it has not been counted
+     */
+    public Integer get(K key){
+        int slot = probe(key, hash(key));
+        return slot >= 0 ? counts[slot] : null;
+    }
+
+    /**
+     * Removes the given key from the IntCounterMap.
+     *
+     * @param key the key to be removed
+     * @return the count of the removed key, or null if it had not been counted
+     */
+    public Integer remove(K key){
+        int slot = probe(key, hash(key));
+        if (slot < 0) return null;
+        int oldCount = counts[slot];
+        removeAt(slot);
+        return oldCount;
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map.
+     *
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<K> keySet(){
+        ArrayList<K> keySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                keySet.add(keys[i]);
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns an ArrayList of all the counts in the map in the same order as the
+     * keys as returned by keySet().
+     *
+     * @return an ArrayList of all the counts in the map in the same order as the
+     *         keys as returned by keySet().
+     */
+    public ArrayList<Integer> values(){
+        ArrayList<Integer> valueSet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                valueSet.add(counts[i]);
+            }
+        }
+        return valueSet;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(). The pairs are copies; setting
+     * their values does not change the map.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the keys as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<K, Integer>> entrySet(){
+        ArrayList<KeyValuePair<K, Integer>> entrySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                entrySet.add(new KeyValuePair<>(keys[i], counts[i]));
+            }
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(), scanning the slots as it goes.
+     * There are no entry objects to hand out, so each step returns a new pair;
+     * setting its count does not change the map. Use forEach to visit every
+     * entry without allocating.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, Integer>> iterator(){
+        return new Iterator<KeyValuePair<K, Integer>>() {
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < hashes.length;
+            }
+
+            @Override
+            public KeyValuePair<K, Integer> next() {
+                if (slot >= hashes.length) throw new NoSuchElementException();
+                KeyValuePair<K, Integer> entry = new KeyValuePair<>(keys[slot], counts[slot]);
+                slot = nextSlot(slot + 1);
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * Returns the first occupied slot at or after the given one, or the capacity if there is none.
+     *
+     * @param slot the slot to start looking from
+     * @return the first occupied slot at or after slot, or the capacity
+     */
+    private int nextSlot(int slot){
+        while (slot < hashes.length && hashes[slot] == 0){
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Performs the given action for each key and count in the map, reading
+     * them straight from the slots.
+     *
+     * @param action the action to be performed for each key and count
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super Integer> action){
+        for (int i = 0; i < hashes.length; i++){
+            if (hashes[i] != 0){
+                action.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map, which is the longest probe sequence.
+     *
+     * @return the maximal number of slots probed to find any key
+     */
+    public int maxDepth(){
+        int depth = 0;
+        int mask = hashes.length - 1;
+        for (int i = 0; i < capacity(); i++){
+            if (hashes[i] != 0){
+                depth = Math.max(depth, ((i - hashes[i]) & mask) + 1);
+            }
+        }
+        return depth;
+    }
+}
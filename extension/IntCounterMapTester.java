@@ -0,0 +1,126 @@
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the IntCounterMap class.
+ */
+
+public class IntCounterMapTester {
+
+    /**
+     * Returns whether the constructor rejects the given load factor.
+     *
+     * @param loadFactor the load factor to be tried
+     * @return true if the constructor throws IllegalArgumentException
+     */
+    private static boolean rejects(double loadFactor){
+        try {
+            new IntCounterMap<String>(16, loadFactor);
+            return false;
+        }
+        catch (IllegalArgumentException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Testing increment, getCount, put, get, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        IntCounterMap<String> map = new IntCounterMap<>();
+        map.increment( "the" );
+        int afterTwo = map.increment( "the" );
+        map.increment( "thou", 5 );
+        Integer oldValue = map.put( "thy", 3 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Second increment of the returns " + afterTwo + ", should be 2" );
+        System.out.println( "Put thy --- old value is " + oldValue + ", should be null" );
+        System.out.println( "Get thy --- value is " + map.get( "thy" ) + ", should be 3" );
+        System.out.println( "Remove thou --- count was " + removed + ", should be 5" );
+        System.out.println( "Count of thou: " + map.getCount( "thou" ) + ", should be 0" );
+        System.out.println( "Get thou: " + map.get( "thou" ) + ", should be null" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+        System.out.println( "Load factors 0, 1 and 1.5 rejected: " + (rejects( 0 ) && rejects( 1 ) && rejects( 1.5 )) + ", should be true" );
+        System.out.println( "Load factor 0.9 rejected: " + rejects( 0.9 ) + ", should be false" );
+    }
+
+    /**
+     * Testing that the table doubles once the max load factor is passed and keeps every count
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        IntCounterMap<Integer> map = new IntCounterMap<>(8, 0.75);
+        for (int i = 0; i < 6; i++){
+            map.increment( i );
+        }
+        int atLoad = map.capacity();
+        map.increment( 6 );
+        int pastLoad = map.capacity();
+
+        // Key i is counted i % 7 + 1 times, across many more doublings
+        for (int i = 0; i < 10000; i++){
+            for (int c = 0; c < i % 7 + 1; c++){
+                map.increment( i + 7 );
+            }
+        }
+        boolean kept = true;
+        for (int i = 0; i < 10000; i++){
+            kept = kept && map.getCount( i + 7 ) == i % 7 + 1;
+        }
+        int capacity = map.capacity();
+        System.out.println("For test 2: the following values should be equal: " );
+        System.out.println( "Capacity with 6 keys: " + atLoad + ", should be 8" );
+        System.out.println( "Capacity with 7 keys: " + pastLoad + ", should be 16" );
+        System.out.println( "Every count kept across growth: " + kept + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 10007" );
+        System.out.println( "Capacity is a power of two: " + (Integer.bitCount( capacity ) == 1) + ", should be true" );
+        System.out.println( "Load at most 0.75: " + (map.size() <= capacity * 0.75) + ", should be true" );
+    }
+
+    /**
+     * Testing random increments, merges and removes against java.util.HashMap,
+     * so keys are removed from the middle of probe runs
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        IntCounterMap<Integer> map = new IntCounterMap<>();
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        Random rand = new Random(231);
+        boolean sameResults = true;
+        for (int i = 0; i < 50000; i++){
+            int key = rand.nextInt(3000);
+            int op = rand.nextInt(4);
+            if (op == 0){
+                sameResults = sameResults && Objects.equals( map.remove( key ), expected.remove( key ) );
+            }
+            else if (op == 1){
+                // A count reaching a multiple of 5 is removed
+                sameResults = sameResults && Objects.equals( map.merge( key, 1, (a, b) -> (a + b) % 5 == 0 ? null : a + b ),
+                        expected.merge( key, 1, (a, b) -> (a + b) % 5 == 0 ? null : a + b ) );
+            }
+            else {
+                expected.merge( key, 1, Integer::sum );
+                sameResults = sameResults && map.increment( key ) == expected.get( key );
+            }
+        }
+        boolean sameEntries = map.size() == expected.size();
+        for (MapSet.KeyValuePair<Integer, Integer> entry : map){
+            sameEntries = sameEntries && entry.getValue().equals( expected.get( entry.getKey() ) );
+        }
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Every operation returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same entries as java.util.HashMap: " + sameEntries + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be " + expected.size() );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+    }
+
+}
@@ -0,0 +1,636 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of the class: A separate-chaining hash map from keys to counts that
+ * several threads can update at once without any locks. A new key is added by
+ * a compare-and-set of its bucket's head in an AtomicReferenceArray, and a key
+ * that is already present is counted by adding to its own LongAdder, which
+ * spreads the additions of many threads over several cells. So a word that
+ * every thread keeps counting, like "the", never makes the threads wait for a
+ * lock, as it does in StripedHashMap. getCount, get and containsKey take no
+ * lock either.
+ *
+ * Chains are immutable: a node's key, hash, counter and link never change.
+ * New nodes go at the head, and remove copies the nodes in front of the
+ * removed one, so a thread walking a chain always sees a whole chain.
+ *
+ * Resizing: the thread whose insert passes the max load factor migrates the
+ * table, one bucket at a time, while the other threads keep counting. For each
+ * old bucket it copies the chain into the two buckets of the new table that
+ * the keys can move to, and then compare-and-sets the old head to a forwarding
+ * node that points to the new table. The copies share their counters with the
+ * old nodes, so additions made through an old node are not lost. If another
+ * thread changed the bucket in the meantime, the compare-and-set fails and the
+ * bucket is copied again. Threads that find a forwarding node carry on in the
+ * new table. Only one resize runs at a time.
+ *
+ * Counting with increment, getCount and put is safe from any thread. Removing
+ * a key while other threads are still counting it can lose their additions,
+ * and clear must not run while other threads update the map.
+ */
+
+public class LockFreeCounterMap<K> implements MapSet<K, Integer>, CounterMap<K> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * A node in a chain. Its fields never change; only the count it points to does.
+     */
+    private static class Node<K> {
+        final K key;
+        final int hash;
+        final LongAdder count;
+        final Node<K> next;
+
+        Node(K key, int hash, LongAdder count, Node<K> next) {
+            this.key = key;
+            this.hash = hash;
+            this.count = count;
+            this.next = next;
+        }
+    }
+
+    /**
+     * The head of a bucket that has been moved to a larger table.
+     */
+    private static class Forward<K> extends Node<K> {
+        final AtomicReferenceArray<Node<K>> nextTable;
+
+        Forward(AtomicReferenceArray<Node<K>> nextTable) {
+            super(null, 0, null, null);
+            this.nextTable = nextTable;
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node<K>> table;
+    private final LongAdder size;
+    private final AtomicBoolean resizing;
+    private final double maxLoadFactor;
+
+    /**
+     * Constructor for the LockFreeCounterMap class.
+     * Initializes the table to a capacity of 16 and the max load factor to 0.75.
+     */
+    public LockFreeCounterMap() {
+        this(MIN_CAPACITY, 0.75);
+    }
+
+    /**
+     * Constructor for the LockFreeCounterMap class.
+     *
+     * @param capacity   the initial capacity, rounded up to a power of two
+     * @param loadFactor the maximum load factor
+     */
+    public LockFreeCounterMap(int capacity, double loadFactor) {
+        int n = MIN_CAPACITY;
+        while (n < capacity) {
+            n *= 2;
+        }
+        table = new AtomicReferenceArray<>(n);
+        size = new LongAdder();
+        resizing = new AtomicBoolean();
+        maxLoadFactor = loadFactor;
+    }
+
+    /**
+     * Returns the spread hash of the given key.
+     *
+     * @param key the key to be hashed
+     * @return the hash code of the key with its high bits folded into the low bits
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the number of buckets
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the number of counted keys. While other threads are adding or
+     * removing keys this is only a snapshot.
+     *
+     * @return the number of counted keys
+     */
+    public int size() {
+        return size.intValue();
+    }
+
+    /**
+     * Removes all of the counts from this map. Must not be called while other
+     * threads are updating the map.
+     */
+    public void clear() {
+        table = new AtomicReferenceArray<>(MIN_CAPACITY);
+        size.reset();
+    }
+
+    /**
+     * Returns the node holding the given key, or null if there is none, following
+     * forwarding nodes into newer tables.
+     *
+     * @param key the key to be searched
+     * @param h   the hash of the key
+     * @return the node holding the key, or null
+     */
+    private Node<K> findNode(Object key, int h) {
+        AtomicReferenceArray<Node<K>> tab = table;
+        while (true) {
+            Node<K> current = tab.get(h & (tab.length() - 1));
+            if (current instanceof Forward) {
+                tab = ((Forward<K>) current).nextTable;
+                continue;
+            }
+            while (current != null) {
+                if (current.hash == h && current.key.equals(key)) {
+                    return current;
+                }
+                current = current.next;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the node holding the given key if there is one. Otherwise, adds a
+     * node for the key with the given count and returns null.
+     *
+     * @param key   the key to be searched or added
+     * @param count the count of the key if it has to be added
+     * @return the node that already held the key, or null if a new node was added
+     */
+    private Node<K> findOrAdd(K key, int count) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K>> tab = table;
+        LongAdder newCount = null;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            Node<K> head = tab.get(index);
+            if (head instanceof Forward) {
+                tab = ((Forward<K>) head).nextTable;
+                continue;
+            }
+            for (Node<K> current = head; current != null; current = current.next) {
+                if (current.hash == h && current.key.equals(key)) {
+                    return current;
+                }
+            }
+
+            if (newCount == null) {
+                newCount = new LongAdder();
+                newCount.add(count);
+            }
+            // Fails if another thread added, removed or moved a node in this bucket since we read the head
+            if (tab.compareAndSet(index, head, new Node<>(key, h, newCount, head))) {
+                size.increment();
+                if (size.sum() > tab.length() * maxLoadFactor) {
+                    resize(tab);
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Moves every bucket of the given table into a table twice its size, unless
+     * another thread is already resizing or has already replaced the table. Other
+     * threads keep updating the map while the buckets are moved.
+     *
+     * @param oldTable the table whose load factor was passed
+     */
+    private void resize(AtomicReferenceArray<Node<K>> oldTable) {
+        if (table != oldTable || !resizing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (table != oldTable) {
+                return; // another thread finished resizing it just before
+            }
+            int n = oldTable.length();
+            AtomicReferenceArray<Node<K>> newTable = new AtomicReferenceArray<>(n * 2);
+            Forward<K> forward = new Forward<>(newTable);
+            for (int i = 0; i < n; i++) {
+                while (true) {
+                    Node<K> head = oldTable.get(i);
+                    // Keys of bucket i can only go to buckets i and i + n, and no other
+                    // thread writes those until the forwarding node is in place
+                    Node<K> lo = null;
+                    Node<K> hi = null;
+                    for (Node<K> current = head; current != null; current = current.next) {
+                        if ((current.hash & n) == 0) {
+                            lo = new Node<>(current.key, current.hash, current.count, lo);
+                        }
+                        else {
+                            hi = new Node<>(current.key, current.hash, current.count, hi);
+                        }
+                    }
+                    newTable.set(i, lo);
+                    newTable.set(i + n, hi);
+                    if (oldTable.compareAndSet(i, head, forward)) {
+                        break;
+                    }
+                }
+            }
+            table = newTable;
+        }
+        finally {
+            resizing.set(false);
+        }
+    }
+
+    /**
+     * Adds one to the count of the specified key, starting it at 1 if the
+     * key has not been counted before.
+     *
+     * @param key the key to be counted
+     * @return the count of key after the increment
+     */
+    public int increment(K key) {
+        return increment(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the specified key, starting it
+     * at delta if the key has not been counted before. If other threads are
+     * counting the same key, the returned count may include their additions too.
+     *
+     * @param key   the key to be counted
+     * @param delta the amount to add to the count
+     * @return the count of key after the increment
+     */
+    public int increment(K key, int delta) {
+        Node<K> node = findOrAdd(key, delta);
+        if (node == null) {
+            return delta;
+        }
+        node.count.add(delta);
+        return node.count.intValue();
+    }
+
+    /**
+     * Adds the given amount to the count of the specified key, starting it
+     * at delta if the key has not been counted before. Unlike increment, it
+     * never sums the cells of the key's LongAdder, so threads counting a hot
+     * key only write to their own cell.
+     *
+     * @param key   the key to be counted
+     * @param delta the amount to add to the count
+     */
+    public void add(K key, int delta) {
+        Node<K> node = findOrAdd(key, delta);
+        if (node != null) {
+            node.count.add(delta);
+        }
+    }
+
+    /**
+     * Returns the count of the specified key, or 0 if it has not been counted.
+     *
+     * @param key the key whose count is to be returned
+     * @return the count of key, or 0 if it has not been counted
+     */
+    public int getCount(K key) {
+        Node<K> node = findNode(key, hash(key));
+        return node == null ? 0 : node.count.intValue();
+    }
+
+    /**
+     * Returns the count of the given key as an Integer, or null if it has not been counted.
+     * Use getCount to read a count without boxing.
+     *
+     * @param key the key to be searched
+     * @return the count of the key, or null if it has not been counted
+     */
+    public Integer get(K key) {
+        Node<K> node = findNode(key, hash(key));
+        return node == null ? null : node.count.intValue();
+    }
+
+    /**
+     * Returns {@code true} if this map contains a count for the specified key.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a count for the specified key
+     */
+    public boolean containsKey(K key) {
+        return findNode(key, hash(key)) != null;
+    }
+
+    /**
+     * Sets the count of the given key by adding the difference from its current
+     * count, so additions made by other threads at the same time are kept.
+     * Does nothing if value is null.
+     *
+     * @param key   the key to be added
+     * @param value the count to be stored
+     * @return the old count of the key, or null if it had not been counted
+     */
+    public Integer put(K key, Integer value) {
+        if (value == null) return get(key);
+        Node<K> node = findOrAdd(key, value);
+        if (node == null) {
+            return null;
+        }
+        int oldCount = node.count.intValue();
+        node.count.add(value - oldCount);
+        return oldCount;
+    }
+
+    /**
+     * If the specified key has not been counted, stores the given count.
+     * Otherwise, replaces the count with the result of the given remapping
+     * function, or removes the key if the result is null. The new count is
+     * stored by adding its difference from the old one, so additions by other
+     * threads are kept, but the function may see a count that is already stale.
+     *
+     * @param key               key with which the resulting count is to be associated
+     * @param value             the count to be stored if key is absent
+     * @param remappingFunction the function to recompute a count if key is present
+     * @return the new count of key, or null if key is no longer counted
+     */
+    public Integer merge(K key, Integer value, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+        if (value == null) {
+            Node<K> node = findNode(key, hash(key));
+            if (node == null) {
+                return null;
+            }
+            int oldCount = node.count.intValue();
+            return apply(node, oldCount, remappingFunction.apply(oldCount, null));
+        }
+        Node<K> node = findOrAdd(key, value);
+        if (node == null) {
+            return value;
+        }
+        int oldCount = node.count.intValue();
+        return apply(node, oldCount, remappingFunction.apply(oldCount, value));
+    }
+
+    /**
+     * Attempts to compute a count for the specified key and its current count
+     * (null if it has not been counted). If the function returns null, the key
+     * is removed (or remains absent if initially absent). As with merge, the
+     * new count is stored by adding its difference from the old one.
+     *
+     * @param key               key with which the resulting count is to be associated
+     * @param remappingFunction the function to compute a count
+     * @return the new count of key, or null if none
+     */
+    public Integer compute(K key, BiFunction<? super K, ? super Integer, ? extends Integer> remappingFunction) {
+        Node<K> node = findNode(key, hash(key));
+        if (node == null) {
+            Integer newValue = remappingFunction.apply(key, null);
+            if (newValue == null) {
+                return null;
+            }
+            node = findOrAdd(key, newValue);
+            if (node == null) {
+                return newValue;
+            }
+            // Another thread added the key first: compute from its count instead
+        }
+        int oldCount = node.count.intValue();
+        return apply(node, oldCount, remappingFunction.apply(key, oldCount));
+    }
+
+    /**
+     * Helper method for merge and compute. Stores the new count of a node by
+     * adding its difference from the count the function was given, so anything
+     * other threads added since is kept, or removes the node's key if the new
+     * count is null.
+     *
+     * @param node     the node whose count is to be replaced
+     * @param oldCount the count the new count was computed from
+     * @param newValue the new count, or null to remove the key
+     * @return the new count
+     */
+    private Integer apply(Node<K> node, int oldCount, Integer newValue) {
+        if (newValue == null) {
+            remove(node.key);
+        }
+        else {
+            node.count.add(newValue - oldCount);
+        }
+        return newValue;
+    }
+
+    /**
+     * Removes the given key from the map by replacing its bucket's head with a
+     * copy of the chain that leaves the key's node out. The copies share the
+     * counters of the nodes they replace.
+     *
+     * @param key the key to be removed
+     * @return the count of the removed key, or null if it had not been counted
+     */
+    public Integer remove(K key) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K>> tab = table;
+        while (true) {
+            int index = h & (tab.length() - 1);
+            Node<K> head = tab.get(index);
+            if (head instanceof Forward) {
+                tab = ((Forward<K>) head).nextTable;
+                continue;
+            }
+            Node<K> target = head;
+            while (target != null && !(target.hash == h && target.key.equals(key))) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+
+            // Copy the nodes in front of the target onto the node after it
+            Node<K> newHead = target.next;
+            for (Node<K> current = head; current != target; current = current.next) {
+                newHead = new Node<>(current.key, current.hash, current.count, newHead);
+            }
+            if (tab.compareAndSet(index, head, newHead)) {
+                size.decrement();
+                return target.count.intValue();
+            }
+        }
+    }
+
+    /**
+     * Adds the heads of every chain of the given bucket to the deque, following
+     * forwarding nodes: a moved bucket's keys are in two buckets of the next table.
+     *
+     * @param tab   the table of the bucket
+     * @param index the index of the bucket
+     * @param heads the deque the heads are added to
+     */
+    private static <K> void addChains(AtomicReferenceArray<Node<K>> tab, int index, ArrayDeque<Node<K>> heads) {
+        Node<K> head = tab.get(index);
+        if (head instanceof Forward) {
+            AtomicReferenceArray<Node<K>> nextTable = ((Forward<K>) head).nextTable;
+            addChains(nextTable, index + tab.length(), heads);
+            addChains(nextTable, index, heads);
+        }
+        else if (head != null) {
+            heads.push(head);
+        }
+    }
+
+    /**
+     * Returns the string representation of the LockFreeCounterMap.
+     *
+     * @return the string representation of the LockFreeCounterMap
+     */
+    public String toString() {
+        AtomicReferenceArray<Node<K>> tab = table;
+        ArrayDeque<Node<K>> heads = new ArrayDeque<>();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tab.length(); i++) {
+            sb.append("bin ").append(i).append(": ");
+            addChains(tab, i, heads);
+            while (!heads.isEmpty()) {
+                for (Node<K> current = heads.pop(); current != null; current = current.next) {
+                    sb.append("<").append(current.key).append(" -> ").append(current.count.intValue()).append(">");
+                    if (current.next != null || !heads.isEmpty()) {
+                        sb.append(" -> ");
+                    }
+                }
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map. The iterator
+     * walks the buckets of the table as it was when the iterator was created,
+     * following any buckets moved by a resize since, without locking, and
+     * returns a new pair for each node; setting a pair's value does not change the map.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, Integer>> iterator() {
+        return new Iterator<KeyValuePair<K, Integer>>() {
+            private final AtomicReferenceArray<Node<K>> tab = table;
+            private final ArrayDeque<Node<K>> heads = new ArrayDeque<>();
+            private int bucket = -1;
+            private Node<K> next = advance(null);
+
+            /**
+             * Returns the node after the given one, moving on to the next chain
+             * at the end of a chain, or null at the end.
+             */
+            private Node<K> advance(Node<K> current) {
+                if (current != null && current.next != null) {
+                    return current.next;
+                }
+                while (heads.isEmpty() && ++bucket < tab.length()) {
+                    addChains(tab, bucket, heads);
+                }
+                return heads.poll();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeyValuePair<K, Integer> next() {
+                if (next == null) throw new NoSuchElementException();
+                Node<K> current = next;
+                next = advance(current);
+                return new KeyValuePair<>(current.key, current.count.intValue());
+            }
+        };
+    }
+
+    /**
+     * Performs the given action for each key and its count, without allocating a pair per entry.
+     *
+     * @param action the action to be performed for each key and count
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super Integer> action) {
+        AtomicReferenceArray<Node<K>> tab = table;
+        ArrayDeque<Node<K>> heads = new ArrayDeque<>();
+        for (int i = 0; i < tab.length(); i++) {
+            addChains(tab, i, heads);
+            while (!heads.isEmpty()) {
+                for (Node<K> current = heads.pop(); current != null; current = current.next) {
+                    action.accept(current.key, current.count.intValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map.
+     *
+     * @return an ArrayList of all the keys in the map
+     */
+    public ArrayList<K> keySet() {
+        ArrayList<K> keySet = new ArrayList<>(size());
+        forEach((key, count) -> keySet.add(key));
+        return keySet;
+    }
+
+    /**
+     * Returns an ArrayList of all the counts in the map in the same order as the
+     * keys as returned by keySet(), if the map is not changed in between.
+     *
+     * @return an ArrayList of all the counts in the map
+     */
+    public ArrayList<Integer> values() {
+        ArrayList<Integer> values = new ArrayList<>(size());
+        forEach((key, count) -> values.add(count));
+        return values;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(), if the map is not changed in
+     * between. The pairs are copies; setting their values does not change the map.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map
+     */
+    public ArrayList<KeyValuePair<K, Integer>> entrySet() {
+        ArrayList<KeyValuePair<K, Integer>> entrySet = new ArrayList<>(size());
+        forEach((key, count) -> entrySet.add(new KeyValuePair<>(key, count)));
+        return entrySet;
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map, which is the length of the longest chain.
+     *
+     * @return the length of the longest chain
+     */
+    public int maxDepth() {
+        AtomicReferenceArray<Node<K>> tab = table;
+        ArrayDeque<Node<K>> heads = new ArrayDeque<>();
+        int depth = 0;
+        for (int i = 0; i < tab.length(); i++) {
+            addChains(tab, i, heads);
+            while (!heads.isEmpty()) {
+                int curDepth = 0;
+                for (Node<K> current = heads.pop(); current != null; current = current.next) {
+                    curDepth++;
+                }
+                depth = Math.max(depth, curDepth);
+            }
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.HashSet;
+import java.util.function.IntConsumer;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the LockFreeCounterMap class, including
+ * several threads counting into the same map while it resizes.
+ */
+
+public class LockFreeCounterMapTester {
+
+    private static final int THREADS = 4;
+
+    /**
+     * Runs the given task on THREADS threads at once, passing each its index,
+     * and waits for all of them to finish.
+     *
+     * @param task what each thread does with its index
+     */
+    private static void runThreads(IntConsumer task){
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++){
+            final int index = t;
+            threads[t] = new Thread(() -> task.accept(index));
+            threads[t].start();
+        }
+        for (Thread thread : threads){
+            try {
+                thread.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Testing increment, add, getCount, put, remove and size on one thread
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        LockFreeCounterMap<String> map = new LockFreeCounterMap<>();
+        map.increment( "the" );
+        map.increment( "the" );
+        map.increment( "thou", 5 );
+        map.add( "thou", 2 );
+        map.add( "thee", 4 );
+        map.put( "thy", 3 );
+        Integer removed = map.remove( "thy" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Count of the: " + map.getCount( "the" ) + ", should be 2" );
+        System.out.println( "Count of thou: " + map.getCount( "thou" ) + ", should be 7" );
+        System.out.println( "Count of thee: " + map.getCount( "thee" ) + ", should be 4" );
+        System.out.println( "Remove thy --- count was " + removed + ", should be 3" );
+        System.out.println( "Get thy: " + map.get( "thy" ) + ", should be null" );
+        System.out.println( "Size: " + map.size() + ", should be 3" );
+    }
+
+    /**
+     * Testing that threads incrementing the same keys from a small table lose
+     * no counts and no keys while buckets are moved to larger tables
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        LockFreeCounterMap<Integer> map = new LockFreeCounterMap<>(8, 0.75);
+        int startCapacity = map.capacity();
+        // Each thread starts at a different key, so new keys and resizes race with counting
+        runThreads(t -> {
+            for (int round = 0; round < 50; round++){
+                for (int j = 0; j < 5000; j++){
+                    map.increment( (j + t * 1250) % 5000 );
+                }
+            }
+        });
+        boolean exact = true;
+        for (int i = 0; i < 5000; i++){
+            exact = exact && map.getCount( i ) == THREADS * 50;
+        }
+        HashSet<Integer> distinct = new HashSet<>(map.keySet());
+        long total = 0;
+        for (int count : map.values()){
+            total += count;
+        }
+        System.out.println("For test 2: the following values should be equal: " );
+        System.out.println( "Resized: " + (map.capacity() > startCapacity) + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 5000" );
+        System.out.println( "Distinct keys in keySet: " + distinct.size() + ", should be 5000" );
+        System.out.println( "Every count is " + (THREADS * 50) + ": " + exact + ", should be true" );
+        System.out.println( "Total count: " + total + ", should be " + (THREADS * 50 * 5000) );
+    }
+
+    /**
+     * Testing that merge, increment with a delta and add on a few hot keys add up exactly
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        LockFreeCounterMap<String> map = new LockFreeCounterMap<>();
+        String[] hot = {"the", "and", "to"};
+        runThreads(t -> {
+            for (int i = 0; i < 90000; i++){
+                String word = hot[i % hot.length];
+                int op = (i / hot.length) % 3;
+                if (op == 0){
+                    map.merge( word, 1, Integer::sum );
+                }
+                else if (op == 1){
+                    map.increment( word, 2 );
+                }
+                else {
+                    map.add( word, 3 );
+                }
+            }
+        });
+        // Per thread and word: 10000 merges of 1, 10000 increments of 2 and 10000 adds of 3
+        int expected = THREADS * 10000 * (1 + 2 + 3);
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Count of the: " + map.getCount( "the" ) + ", should be " + expected );
+        System.out.println( "Count of and: " + map.getCount( "and" ) + ", should be " + expected );
+        System.out.println( "Count of to: " + map.getCount( "to" ) + ", should be " + expected );
+        System.out.println( "Size: " + map.size() + ", should be 3" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+    }
+
+}
@@ -0,0 +1,136 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare counting a corpus with countFile into a
+ * HashMap, an IntCounterMap and an OffHeapCounterMap: the heap the finished
+ * map keeps (with its key strings, unlike RobinHoodBenchmark), the bytes the
+ * OffHeapCounterMap keeps outside the heap, and the time and garbage
+ * collection each run of countFile costs.
+ *
+ * How to run:     java OffHeapBenchmark [filename ...]
+ */
+
+public class OffHeapBenchmark {
+
+    private static final int TRIALS = 10;
+
+    // Keeps the measured counter reachable while the heap is sampled
+    private static WordCounter retained;
+
+    /**
+     * Returns the heap currently in use after several rounds of garbage collection.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++){
+            System.gc();
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns the number of collections so far, over every garbage collector.
+     *
+     * @return the total number of collections
+     */
+    private static long gcCount(){
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Returns the time spent collecting so far, over every garbage collector.
+     *
+     * @return the total collection time in milliseconds
+     */
+    private static long gcMillis(){
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    /**
+     * Returns the number of arena bytes an OffHeapCounterMap uses for the words of the given file.
+     *
+     * @param filename the corpus to be counted
+     * @return the bytes of word data in the arena
+     */
+    private static long arenaBytes(String filename){
+        OffHeapCounterMap map = new OffHeapCounterMap();
+        try {
+            WordReader.forEachWordBytes(filename, map::increment);
+        }
+        catch (IOException ex) {
+            return -1;
+        }
+        return map.arenaBytes();
+    }
+
+    /**
+     * Counts the file once to measure the heap the counter keeps, then counts it
+     * TRIALS more times into fresh counters and prints the average time and
+     * garbage collection per run.
+     *
+     * @param dataStructure the WordCounter data structure to measure
+     * @param filename      the corpus to be counted
+     */
+    private static void measure(String dataStructure, String filename){
+        long before = usedHeap();
+        retained = new WordCounter( dataStructure );
+        if (retained.countFile( filename ) < 0) return;
+        long after = usedHeap();
+        int distinct = retained.uniqueWordCount();
+        String offHeap = "";
+        if (dataStructure.equals( "OffHeap" )){
+            offHeap = String.format(", %.2f MB of words off heap", arenaBytes(filename) / 1e6);
+        }
+        int thou = retained.getCount( "thou" );
+        retained = null;
+
+        long startCount = gcCount();
+        long startMillis = gcMillis();
+        double totalTime = 0.0;
+        for (int i = 0; i < TRIALS; i++){
+            totalTime += new WordCounter( dataStructure ).countFile( filename );
+        }
+
+        System.out.printf("%-12s %6.1f MB heap (%5.1f bytes/word)%s%n", dataStructure,
+                (after - before) / 1e6, (double) (after - before) / distinct, offHeap);
+        System.out.printf("%-12s %8.1f ms/run, %.1f collections/run, %.1f ms GC/run (\"thou\" counted %d times)%n", "",
+                totalTime / TRIALS, (double) (gcCount() - startCount) / TRIALS,
+                (double) (gcMillis() - startMillis) / TRIALS, thou);
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            // Warm up the JIT before measuring
+            if (new WordCounter( "HashMap" ).countFile( filename ) < 0) continue;
+            new WordCounter( "IntCounter" ).countFile( filename );
+            new WordCounter( "OffHeap" ).countFile( filename );
+
+            System.out.println("-".repeat(50) + "\n" + filename + "\n");
+            measure("HashMap", filename);
+            measure("IntCounter", filename);
+            measure("OffHeap", filename);
+        }
+    }
+}
@@ -0,0 +1,663 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of the class: A map from words to primitive int counts that keeps
+ * no String on the heap. The UTF-8 bytes of each word are stored once, one
+ * after another, in an off-heap arena (a direct ByteBuffer), and the table
+ * holds only primitive arrays: the hash, arena offset, byte length and count
+ * of each word, with linear probing as in IntCounterMap. So a word costs 16
+ * bytes of heap plus table slack, instead of a String (about 40 bytes plus
+ * its byte array) and a node, and the garbage collector has almost nothing
+ * to trace. Words can be counted straight from the bytes of a file with
+ * increment(bytes, length), which creates no object at all; the String
+ * methods of MapSet and CounterMap encode the String first, and keySet,
+ * entrySet and iteration decode new Strings from the arena. The bytes of a
+ * removed word stay in the arena until clear().
+ */
+
+public class OffHeapCounterMap implements MapSet<String, Integer>, CounterMap<String> {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int MIN_ARENA_SIZE = 1 << 12;
+
+    private int size;
+    // Spread hash of the word in each slot; 0 marks an empty slot
+    private int[] hashes;
+    private int[] offsets;
+    private int[] lengths;
+    private int[] counts;
+    private double maxLoadFactor;
+
+    // The UTF-8 bytes of every word, back to back; only its first arenaSize bytes are used
+    private ByteBuffer arena;
+    private int arenaSize;
+
+    // Holds the bytes of a String key while it is looked up
+    private byte[] scratch;
+
+    /**
+     * Constructor for the OffHeapCounterMap class.
+     * Initializes the table to a capacity of 16 and the arena to 4 KB.
+     */
+    public OffHeapCounterMap(){
+        this(16, 0.75);
+    }
+
+    /**
+     * Constructor for the OffHeapCounterMap class.
+     * Initializes the size to 0, the table to the given capacity,
+     * and the max load factor to the given load factor.
+     *
+     * @param capacity   the initial capacity, rounded up to a power of two
+     * @param loadFactor the maximum load factor, which must be below 1
+     * @throws IllegalArgumentException if the load factor is not between 0 and 1
+     */
+    public OffHeapCounterMap(int capacity, double loadFactor){
+        // At a load factor of 1 the table can fill up, and probing for a new key never ends
+        if (!(loadFactor > 0 && loadFactor < 1)){
+            throw new IllegalArgumentException("Load factor must be between 0 and 1, exclusive: " + loadFactor);
+        }
+        this.maxLoadFactor = loadFactor;
+        int n = MIN_CAPACITY;
+        while (n < capacity){
+            n *= 2;
+        }
+        allocate(n);
+        arena = ByteBuffer.allocateDirect(MIN_ARENA_SIZE);
+        arenaSize = 0;
+        scratch = new byte[64];
+        size = 0;
+    }
+
+    /**
+     * Replaces the arrays with empty arrays of the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void allocate(int capacity){
+        hashes = new int[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots
+     */
+    public int capacity(){
+        return hashes.length;
+    }
+
+    /**
+     * Returns the number of bytes of word data in the off-heap arena.
+     *
+     * @return the number of bytes used in the arena
+     */
+    public long arenaBytes(){
+        return arenaSize;
+    }
+
+    /**
+     * Returns the spread FNV-1a hash of the given bytes. Never returns 0, which marks empty slots.
+     *
+     * @param bytes  the array holding the word
+     * @param length the number of bytes in the word
+     * @return the spread, non-zero hash of the word
+     */
+    private static int hash(byte[] bytes, int length){
+        int h = 0x811c9dc5;
+        for (int i = 0; i < length; i++){
+            h ^= bytes[i];
+            h *= 0x01000193;
+        }
+        h ^= (h >>> 16);
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Puts the UTF-8 bytes of the given String into the scratch array.
+     * ASCII words are copied char by char; others are encoded by String.getBytes.
+     *
+     * @param key the String to be encoded
+     * @return the number of bytes, which are at the start of scratch
+     */
+    private int encode(String key){
+        int length = key.length();
+        if (scratch.length < length){
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++){
+            char c = key.charAt(i);
+            if (c >= 0x80){
+                byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+                if (scratch.length < bytes.length){
+                    scratch = new byte[bytes.length];
+                }
+                System.arraycopy(bytes, 0, scratch, 0, bytes.length);
+                return bytes.length;
+            }
+            scratch[i] = (byte) c;
+        }
+        return length;
+    }
+
+    /**
+     * Returns the word in the given slot, decoded from the arena into a new String.
+     *
+     * @param slot a full slot
+     * @return the word in the slot
+     */
+    private String wordAt(int slot){
+        byte[] bytes = new byte[lengths[slot]];
+        ByteBuffer view = arena.duplicate();
+        view.position(offsets[slot]);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns whether the word in the given slot has exactly the given bytes.
+     *
+     * @param slot   a full slot
+     * @param bytes  the array holding the word
+     * @param length the number of bytes in the word
+     * @return true if the slot holds the word
+     */
+    private boolean matches(int slot, byte[] bytes, int length){
+        if (lengths[slot] != length){
+            return false;
+        }
+        int offset = offsets[slot];
+        for (int i = 0; i < length; i++){
+            if (arena.get(offset + i) != bytes[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the slot holding the given word, or the empty slot where it would
+     * be inserted, encoded as {@code -(slot + 1)}.
+     *
+     * @param bytes  the array holding the word
+     * @param length the number of bytes in the word
+     * @param h      the hash of the word
+     * @return the slot of the word, or {@code -(slot + 1)} for the empty slot
+     */
+    private int probe(byte[] bytes, int length, int h){
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        while (true){
+            int slotHash = hashes[slot];
+            if (slotHash == 0){
+                return -(slot + 1);
+            }
+            if (slotHash == h && matches(slot, bytes, length)){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the slot holding the given String, or {@code -(slot + 1)} for the
+     * empty slot where it would be inserted. Leaves its bytes in scratch.
+     *
+     * @param key the word to be searched
+     * @return the slot of the word, or {@code -(slot + 1)} for the empty slot
+     */
+    private int probe(String key){
+        int length = encode(key);
+        return probe(scratch, length, hash(scratch, length));
+    }
+
+    /**
+     * Adds one to the count of the word with the given UTF-8 bytes, starting it
+     * at 1 if the word has not been counted before. Creates no object unless the
+     * word is new and the arena or the table has to grow.
+     *
+     * @param bytes  the array holding the word in its first length bytes
+     * @param length the number of bytes in the word
+     * @return the count of the word after the increment
+     */
+    public int increment(byte[] bytes, int length){
+        int h = hash(bytes, length);
+        int slot = probe(bytes, length, h);
+        if (slot >= 0){
+            return ++counts[slot];
+        }
+        insertAt(-(slot + 1), h, bytes, length, 1);
+        return 1;
+    }
+
+    /**
+     * Adds one to the count of the specified word, starting it at 1 if the
+     * word has not been counted before.
+     *
+     * @param key the word to be counted
+     * @return the count of key after the increment
+     */
+    public int increment(String key){
+        return increment(key, 1);
+    }
+
+    /**
+     * Adds the given amount to the count of the specified word, starting it
+     * at delta if the word has not been counted before.
+     *
+     * @param key   the word to be counted
+     * @param delta the amount to add to the count
+     * @return the count of key after the increment
+     */
+    public int increment(String key, int delta){
+        int length = encode(key);
+        int h = hash(scratch, length);
+        int slot = probe(scratch, length, h);
+        if (slot >= 0){
+            counts[slot] += delta;
+            return counts[slot];
+        }
+        insertAt(-(slot + 1), h, scratch, length, delta);
+        return delta;
+    }
+
+    /**
+     * Returns the count of the specified word, or 0 if it has not been counted.
+     *
+     * @param key the word whose count is to be returned
+     * @return the count of key, or 0 if it has not been counted
+     */
+    public int getCount(String key){
+        int slot = probe(key);
+        return slot >= 0 ? counts[slot] : 0;
+    }
+
+    /**
+     * Copies a new word into the arena and stores it in the given empty slot,
+     * growing the table afterwards if the max load factor has been passed.
+     *
+     * @param slot   the empty slot where the probe for the word ended
+     * @param h      the hash of the word
+     * @param bytes  the array holding the word
+     * @param length the number of bytes in the word
+     * @param count  the count of the word
+     */
+    private void insertAt(int slot, int h, byte[] bytes, int length, int count){
+        if (arena.capacity() - arenaSize < length){
+            growArena(length);
+        }
+        ByteBuffer view = arena.duplicate();
+        view.position(arenaSize);
+        view.put(bytes, 0, length);
+        hashes[slot] = h;
+        offsets[slot] = arenaSize;
+        lengths[slot] = length;
+        counts[slot] = count;
+        arenaSize += length;
+        size++;
+        if (size > capacity() * maxLoadFactor){
+            resize(capacity() * 2);
+        }
+    }
+
+    /**
+     * Moves the arena to a new direct buffer at least twice as large with room
+     * for the given number of extra bytes. The old buffer's memory is freed once
+     * it has been garbage collected.
+     *
+     * @param extra the number of bytes about to be added
+     */
+    private void growArena(int extra){
+        long newSize = Math.max((long) arena.capacity() * 2, (long) arenaSize + extra);
+        if (newSize > Integer.MAX_VALUE){
+            throw new IllegalStateException("OffHeapCounterMap: the arena cannot hold more than 2 GB of words");
+        }
+        ByteBuffer newArena = ByteBuffer.allocateDirect((int) newSize);
+        ByteBuffer used = arena.duplicate();
+        used.position(0).limit(arenaSize);
+        newArena.put(used);
+        arena = newArena;
+    }
+
+    /**
+     * Moves every entry into new arrays of the given capacity, reusing the stored
+     * hashes. The words themselves stay where they are in the arena.
+     *
+     * @param newCapacity the new capacity, a power of two
+     */
+    private void resize(int newCapacity){
+        int[] oldHashes = hashes;
+        int[] oldOffsets = offsets;
+        int[] oldLengths = lengths;
+        int[] oldCounts = counts;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldHashes.length; i++){
+            if (oldHashes[i] != 0){
+                int slot = oldHashes[i] & mask;
+                while (hashes[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                offsets[slot] = oldOffsets[i];
+                lengths[slot] = oldLengths[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Empties the given slot, moving later entries of the same cluster back
+     * so that every remaining word can still be reached by probing.
+     *
+     * @param slot the slot to be emptied
+     */
+    private void removeAt(int slot){
+        int mask = hashes.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (hashes[next] != 0){
+            int home = hashes[next] & mask;
+            // The entry may fill the gap if its home slot is not between the gap and itself
+            if (((next - home) & mask) >= ((next - gap) & mask)){
+                hashes[gap] = hashes[next];
+                offsets[gap] = offsets[next];
+                lengths[gap] = lengths[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        hashes[gap] = 0;
+        counts[gap] = 0;
+        size--;
+
+        // Check if the size is less than the threshold to downsize: fC/4
+        if (capacity() > MIN_CAPACITY && size < (capacity() * maxLoadFactor) / 4){
+            resize(capacity() / 2);
+        }
+    }
+
+    /**
+     * Return the number of counted words (size).
+     *
+     * @return the number of counted words (size)
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Resets the fields of the OffHeapCounterMap to their default values,
+     * including the arena.
+     */
+    public void clear(){
+        allocate(16);
+        arena = ByteBuffer.allocateDirect(MIN_ARENA_SIZE);
+        arenaSize = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the string representation of the OffHeapCounterMap.
+     *
+     * @return the string representation of the OffHeapCounterMap
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < capacity(); i++) {
+            sb.append("slot ").append(i).append(": ");
+            if (hashes[i] != 0) {
+                sb.append("<").append(wordAt(i)).append(" -> ").append(counts[i]).append(">");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Sets the count of the given word. Does nothing if value is null.
+     *
+     * @param key   the word to be added
+     * @param value the count to be stored
+     * @return the old count of the word, or null if it had not been counted
+     */
+    public Integer put(String key, Integer value){
+        if (value == null) return get(key);
+        int length = encode(key);
+        int h = hash(scratch, length);
+        int slot = probe(scratch, length, h);
+        if (slot >= 0){
+            int oldCount = counts[slot];
+            counts[slot] = value;
+            return oldCount;
+        }
+        insertAt(-(slot + 1), h, scratch, length, value);
+        return null;
+    }
+
+    /**
+     * If the specified word has not been counted, stores the given count.
+     * Otherwise, replaces the count with the result of the given remapping
+     * function, or removes the word if the result is null.
+     *
+     * @param key               word with which the resulting count is to be associated
+     * @param value             the count to be stored if key is absent
+     * @param remappingFunction the function to recompute a count if key is present
+     * @return the new count of key, or null if key is no longer counted
+     */
+    public Integer merge(String key, Integer value, BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction){
+        int length = encode(key);
+        int h = hash(scratch, length);
+        int slot = probe(scratch, length, h);
+        if (slot >= 0){
+            Integer newValue = remappingFunction.apply(counts[slot], value);
+            if (newValue == null){
+                removeAt(slot);
+            }
+            else {
+                counts[slot] = newValue;
+            }
+            return newValue;
+        }
+        if (value != null){
+            insertAt(-(slot + 1), h, scratch, length, value);
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to compute a count for the specified word and its current count
+     * (null if it has not been counted). If the function returns null, the word
+     * is removed (or remains absent if initially absent).
+     *
+     * @param key               word with which the resulting count is to be associated
+     * @param remappingFunction the function to compute a count
+     * @return the new count of key, or null if none
+     */
+    public Integer compute(String key, BiFunction<? super String, ? super Integer, ? extends Integer> remappingFunction){
+        int slot = probe(key);
+        if (slot >= 0){
+            Integer newValue = remappingFunction.apply(key, counts[slot]);
+            if (newValue == null){
+                removeAt(slot);
+            }
+            else {
+                counts[slot] = newValue;
+            }
+            return newValue;
+        }
+        Integer newValue = remappingFunction.apply(key, null);
+        if (newValue != null){
+            // The function may have used this map, so encode the word again
+            put(key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a count for the specified word.
+     *
+     * @param key The word whose presence in this map is to be tested
+     * @return {@code true} if this map contains a count for the specified word
+     */
+    public boolean containsKey(String key){
+        return probe(key) >= 0;
+    }
+
+    /**
+     * Returns the count of the given word as an Integer, or null if it has not been counted.
+     * Use getCount to read a count without boxing.
+     *
+     * @param key the word to be searched
+     * @return the count of the word, or null if it has not been counted
+     */
+    public Integer get(String key){
+        int slot = probe(key);
+        return slot >= 0 ? counts[slot] : null;
+    }
+
+    /**
+     * Removes the given word from the OffHeapCounterMap. Its bytes stay in the arena.
+     *
+     * @param key the word to be removed
+     * @return the count of the removed word, or null if it had not been counted
+     */
+    public Integer remove(String key){
+        int slot = probe(key);
+        if (slot < 0) return null;
+        int oldCount = counts[slot];
+        removeAt(slot);
+        return oldCount;
+    }
+
+    /**
+     * Returns an ArrayList of all the words in the map, decoded into new Strings.
+     *
+     * @return an ArrayList of all the words in the map.
+     */
+    public ArrayList<String> keySet(){
+        ArrayList<String> keySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                keySet.add(wordAt(i));
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns an ArrayList of all the counts in the map in the same order as the
+     * words as returned by keySet().
+     *
+     * @return an ArrayList of all the counts in the map in the same order as the
+     *         words as returned by keySet().
+     */
+    public ArrayList<Integer> values(){
+        ArrayList<Integer> valueSet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                valueSet.add(counts[i]);
+            }
+        }
+        return valueSet;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the words as returned by keySet(). The pairs are copies; setting
+     * their values does not change the map.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the words as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<String, Integer>> entrySet(){
+        ArrayList<KeyValuePair<String, Integer>> entrySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                entrySet.add(new KeyValuePair<>(wordAt(i), counts[i]));
+            }
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in the same
+     * order as the words as returned by keySet(). Each pair is created, with its
+     * word decoded from the arena, as the iterator reaches it; setting its value
+     * does not change the map.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<String, Integer>> iterator(){
+        return new Iterator<KeyValuePair<String, Integer>>() {
+            private int slot = advance(-1);
+
+            /**
+             * Returns the first full slot after the given one, or the capacity at the end.
+             */
+            private int advance(int from) {
+                int next = from + 1;
+                while (next < capacity() && hashes[next] == 0) {
+                    next++;
+                }
+                return next;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < capacity();
+            }
+
+            @Override
+            public KeyValuePair<String, Integer> next() {
+                if (slot >= capacity()) throw new NoSuchElementException();
+                KeyValuePair<String, Integer> pair = new KeyValuePair<>(wordAt(slot), counts[slot]);
+                slot = advance(slot);
+                return pair;
+            }
+        };
+    }
+
+    /**
+     * Performs the given action for each word and its count.
+     *
+     * @param action the action to be performed for each word and count
+     */
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Integer> action){
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                action.accept(wordAt(i), counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximal number of slots probed to find any particular word,
+     * which is the longest distance of a word from its home slot plus one.
+     *
+     * @return the most slots probed to find any word
+     */
+    public int maxDepth(){
+        int mask = hashes.length - 1;
+        int depth = 0;
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                depth = Math.max(depth, ((i - (hashes[i] & mask)) & mask) + 1);
+            }
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,278 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the OffHeapCounterMap class.
+ */
+
+public class OffHeapCounterMapTester {
+
+    /**
+     * Returns whether the constructor rejects the given load factor.
+     *
+     * @param loadFactor the load factor to be tried
+     * @return true if the constructor throws IllegalArgumentException
+     */
+    private static boolean rejects(double loadFactor){
+        try {
+            new OffHeapCounterMap(16, loadFactor);
+            return false;
+        }
+        catch (IllegalArgumentException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Returns the slot a word lands in when it is the only word in a table of 16 slots,
+     * which is its home slot.
+     *
+     * @param word the word
+     * @return the home slot of the word in a table of 16 slots
+     */
+    private static int homeSlot(String word){
+        OffHeapCounterMap map = new OffHeapCounterMap(16, 0.9);
+        map.increment( word );
+        String[] lines = map.toString().split("\n");
+        for (int i = 0; i < lines.length; i++){
+            if (lines[i].contains("<")){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the given lines of the map's toString, one slot per line.
+     *
+     * @param map  the map to be printed
+     * @param from the first slot
+     * @param to   the slot after the last
+     * @return the lines for slots from to to - 1
+     */
+    private static String slots(OffHeapCounterMap map, int from, int to){
+        String[] lines = map.toString().split("\n");
+        return String.join("\n", Arrays.copyOfRange(lines, from, to));
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes of a word.
+     *
+     * @param word the word
+     * @return the length of the word in UTF-8
+     */
+    private static int utf8Length(String word){
+        return word.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Testing increment, getCount, put, get, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        OffHeapCounterMap map = new OffHeapCounterMap();
+        map.increment( "the" );
+        int afterTwo = map.increment( "the" );
+        map.increment( "thou", 5 );
+        Integer oldValue = map.put( "thy", 3 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Second increment of the returns " + afterTwo + ", should be 2" );
+        System.out.println( "Put thy --- old value is " + oldValue + ", should be null" );
+        System.out.println( "Get thy --- value is " + map.get( "thy" ) + ", should be 3" );
+        System.out.println( "Remove thou --- count was " + removed + ", should be 5" );
+        System.out.println( "Count of thou: " + map.getCount( "thou" ) + ", should be 0" );
+        System.out.println( "Contains thou: " + map.containsKey( "thou" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+        System.out.println( "Arena bytes: " + map.arenaBytes() + ", should be 10" );
+        System.out.println( "Load factors 0, 1 and 1.5 rejected: " + (rejects( 0 ) && rejects( 1 ) && rejects( 1.5 )) + ", should be true" );
+        System.out.println( "Load factor 0.9 rejected: " + rejects( 0.9 ) + ", should be false" );
+    }
+
+    /**
+     * Testing backward-shift deletion: removing a word from a cluster moves the
+     * following words of the cluster back, so they can still be found
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        // Find three words with home slot 3 and one with home slot 4
+        String[] sameHome = new String[3];
+        String nextHome = null;
+        int found = 0;
+        for (int i = 0; found < 3 || nextHome == null; i++){
+            String word = "w" + i;
+            int home = homeSlot(word);
+            if (home == 3 && found < 3){
+                sameHome[found++] = word;
+            }
+            else if (home == 4 && nextHome == null){
+                nextHome = word;
+            }
+        }
+        OffHeapCounterMap map = new OffHeapCounterMap(16, 0.9);
+        for (String word : sameHome){
+            map.increment( word );
+        }
+        // Slot 4 is taken, so this word is pushed to slot 6
+        map.increment( nextHome, 4 );
+        String before = slots(map, 3, 8);
+        int depthBefore = map.maxDepth();
+        map.remove( sameHome[0] );
+        String expected = "slot 3: <" + sameHome[1] + " -> 1>\nslot 4: <" + sameHome[2] + " -> 1>\nslot 5: <"
+                + nextHome + " -> 4>\nslot 6: \nslot 7: ";
+        String actual = slots(map, 3, 8);
+        System.out.println("Before removing " + sameHome[0] + ": \n" + before );
+        System.out.println("Expected output: \n" + expected );
+        System.out.println("Actual output: \n" + actual );
+        System.out.println("For test 2: expected and actual output are equal == " + actual.equals( expected ) );
+        System.out.println( "Max depth before: " + depthBefore + ", should be 3" );
+        System.out.println( "Max depth after: " + map.maxDepth() + ", should be 2" );
+        System.out.println( "Count of " + nextHome + ": " + map.getCount( nextHome ) + ", should be 4" );
+        System.out.println( "Size: " + map.size() + ", should be 3" );
+    }
+
+    /**
+     * Testing that the arena grows, and keeps every word it held, both for many
+     * short words and for a single word longer than the doubled arena
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        OffHeapCounterMap map = new OffHeapCounterMap();
+        // More than twice the 4 KB the arena starts with
+        String longWord = "x".repeat(20000);
+        map.increment( longWord );
+        long bytes = longWord.length();
+        for (int i = 0; i < 5000; i++){
+            map.increment( "word" + i, i % 5 + 1 );
+            bytes += ("word" + i).length();
+        }
+        boolean kept = true;
+        for (int i = 0; i < 5000; i++){
+            kept = kept && map.getCount( "word" + i ) == i % 5 + 1;
+        }
+        boolean keysDecoded = map.keySet().contains( "word4999" ) && map.keySet().contains( longWord );
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Arena bytes: " + map.arenaBytes() + ", should be " + bytes );
+        System.out.println( "Every count kept across arena growth: " + kept + ", should be true" );
+        System.out.println( "Count of the 20000-byte word: " + map.getCount( longWord ) + ", should be 1" );
+        System.out.println( "Words decoded from the grown arena: " + keysDecoded + ", should be true" );
+        map.clear();
+        System.out.println( "Arena bytes after clear: " + map.arenaBytes() + ", should be 0" );
+        System.out.println( "Size after clear: " + map.size() + ", should be 0" );
+    }
+
+    /**
+     * Testing words that are not ASCII: they are stored as UTF-8, found by
+     * their String or by their bytes, and decoded back unchanged
+     */
+    public static void test4(){
+        System.out.println("-".repeat(30) + "\nTest4: ");
+        OffHeapCounterMap map = new OffHeapCounterMap();
+        String[] words = {"caf\u00e9", "na\u00efve", "\u65e5\u672c", "\ud83d\ude00", "cafe"};
+        long bytes = 0;
+        for (String word : words){
+            map.increment( word );
+            bytes += utf8Length( word );
+        }
+        byte[] cafe = "caf\u00e9".getBytes(StandardCharsets.UTF_8);
+        // Bytes after the given length must be ignored
+        byte[] padded = Arrays.copyOf(cafe, cafe.length + 8);
+        Arrays.fill(padded, cafe.length, padded.length, (byte) 'x');
+        int byBytes = map.increment( padded, cafe.length );
+        boolean decoded = true;
+        for (String word : words){
+            decoded = decoded && map.keySet().contains( word );
+        }
+        System.out.println("For test 4: the following values should be equal: " );
+        System.out.println( "Arena bytes: " + map.arenaBytes() + ", should be " + bytes );
+        System.out.println( "Increment of caf\u00e9 by its bytes returns " + byBytes + ", should be 2" );
+        System.out.println( "Count of caf\u00e9: " + map.getCount( "caf\u00e9" ) + ", should be 2" );
+        System.out.println( "Count of cafe: " + map.getCount( "cafe" ) + ", should be 1" );
+        System.out.println( "Count of \ud83d\ude00: " + map.getCount( "\ud83d\ude00" ) + ", should be 1" );
+        System.out.println( "Every word decoded unchanged: " + decoded + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 5" );
+    }
+
+    /**
+     * Testing that counting words by their bytes gives the same counts as counting
+     * them by their Strings, and random increments, merges and removes against
+     * java.util.HashMap, which make the table grow and shrink
+     */
+    public static void test5(){
+        System.out.println("-".repeat(30) + "\nTest5: ");
+        String[] pieces = {"a", "th", "e", "\u00e9", "\u65e5", "ou"};
+        Random rand = new Random(231);
+        String[] words = new String[3000];
+        for (int i = 0; i < words.length; i++){
+            StringBuilder sb = new StringBuilder();
+            int length = rand.nextInt(4) + 1;
+            for (int j = 0; j < length; j++){
+                sb.append(pieces[rand.nextInt(pieces.length)]);
+            }
+            words[i] = sb.append(i % 100).toString();
+        }
+
+        OffHeapCounterMap byString = new OffHeapCounterMap();
+        OffHeapCounterMap byBytes = new OffHeapCounterMap();
+        for (int i = 0; i < 50000; i++){
+            String word = words[rand.nextInt(words.length)];
+            byString.increment( word );
+            byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+            byBytes.increment( bytes, bytes.length );
+        }
+        boolean samePaths = byString.size() == byBytes.size();
+        for (MapSet.KeyValuePair<String, Integer> entry : byString){
+            samePaths = samePaths && byBytes.getCount( entry.getKey() ) == entry.getValue();
+        }
+
+        OffHeapCounterMap map = new OffHeapCounterMap();
+        java.util.HashMap<String, Integer> expected = new java.util.HashMap<>();
+        boolean sameResults = true;
+        for (int i = 0; i < 50000; i++){
+            String word = words[rand.nextInt(words.length)];
+            int op = rand.nextInt(4);
+            if (op == 0){
+                sameResults = sameResults && Objects.equals( map.remove( word ), expected.remove( word ) );
+            }
+            else if (op == 1){
+                // A count reaching a multiple of 5 is removed
+                sameResults = sameResults && Objects.equals( map.merge( word, 1, (a, b) -> (a + b) % 5 == 0 ? null : a + b ),
+                        expected.merge( word, 1, (a, b) -> (a + b) % 5 == 0 ? null : a + b ) );
+            }
+            else {
+                expected.merge( word, 1, Integer::sum );
+                sameResults = sameResults && map.increment( word ) == expected.get( word );
+            }
+        }
+        boolean sameEntries = map.size() == expected.size();
+        for (MapSet.KeyValuePair<String, Integer> entry : map){
+            sameEntries = sameEntries && entry.getValue().equals( expected.get( entry.getKey() ) );
+        }
+
+        int grownCapacity = map.capacity();
+        for (String word : words){
+            map.remove( word );
+        }
+        map.increment( "thou" );
+        System.out.println("For test 5: the following values should be equal: " );
+        System.out.println( "Counting by bytes and by Strings gives the same counts: " + samePaths + ", should be true" );
+        System.out.println( "Every operation returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same entries as java.util.HashMap: " + sameEntries + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 1" );
+        System.out.println( "Capacity shrank after removing every word: " + (map.capacity() < grownCapacity) + ", should be true" );
+        System.out.println( "Count of thou: " + map.getCount( "thou" ) + ", should be 1" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+        test4();
+        test5();
+    }
+
+}
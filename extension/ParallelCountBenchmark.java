@@ -0,0 +1,95 @@
+import java.util.TreeSet;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To measure how counting a corpus with
+ * WordCounter.countFileParallel scales from 1 thread up to the number of
+ * available processors (and any thread counts given after the filename),
+ * compared with the single-threaded streaming WordCounter.countFile.
+ *
+ * How to run:     java ParallelCountBenchmark [filename] [threads ...]
+ */
+
+public class ParallelCountBenchmark {
+
+    private static final int WARMUP = 3;
+    private static final int TRIALS = 5;
+
+    /**
+     * Returns the average time, in ms, taken to count the file with the given
+     * number of threads, or with countFile if threads is 0.
+     *
+     * @param dataStructure the WordCounter data structure to count into
+     * @param filename      the name of the file to be counted
+     * @param threads       the number of threads, or 0 for countFile
+     * @return the average time in ms
+     */
+    private static double time(String dataStructure, String filename, int threads){
+        for (int i = 0; i < WARMUP; i++){
+            count(dataStructure, filename, threads);
+        }
+        double total = 0.0;
+        for (int i = 0; i < TRIALS; i++){
+            long startTime = System.nanoTime();
+            count(dataStructure, filename, threads);
+            total += (System.nanoTime() - startTime) / 1e6;
+        }
+        return total / TRIALS;
+    }
+
+    /**
+     * Counts the file into a new WordCounter and returns it.
+     *
+     * @param dataStructure the WordCounter data structure to count into
+     * @param filename      the name of the file to be counted
+     * @param threads       the number of threads, or 0 for countFile
+     * @return the WordCounter holding the counts
+     */
+    private static WordCounter count(String dataStructure, String filename, int threads){
+        WordCounter wc = new WordCounter( dataStructure );
+        if (threads == 0){
+            wc.countFile( filename );
+        }
+        else {
+            wc.countFileParallel( filename, threads );
+        }
+        return wc;
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? new String[] {args[0]} : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        TreeSet<Integer> threadCounts = new TreeSet<>();
+        for (int t = 1; t <= Runtime.getRuntime().availableProcessors(); t *= 2){
+            threadCounts.add(t);
+        }
+        for (int i = 1; i < args.length; i++){
+            threadCounts.add(Integer.parseInt(args[i]));
+        }
+
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        for (String filename : filenames){
+            WordCounter expected = new WordCounter( "HashMap" );
+            if (expected.countFile( filename ) < 0) continue;
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + expected.totalWordCount() + " words)\n");
+
+            for (String dataStructure : new String[] {"HashMap", "IntCounter"}){
+                WordCounter parallel = count(dataStructure, filename, threadCounts.last());
+                System.out.println(dataStructure + ": same counts as countFile: "
+                        + (parallel.totalWordCount() == expected.totalWordCount()
+                           && parallel.uniqueWordCount() == expected.uniqueWordCount()
+                           && parallel.getCount( "thou" ) == expected.getCount( "thou" )));
+
+                double sequential = time(dataStructure, filename, 0);
+                System.out.printf("  countFile            %8.2f ms%n", sequential);
+                for (int threads : threadCounts){
+                    double ms = time(dataStructure, filename, threads);
+                    System.out.printf("  %2d thread(s)         %8.2f ms  (speed-up %.2fx)%n", threads, ms, sequential / ms);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To count the words of a file on several threads. The file
+ * is split into chunks that end on a line break, each chunk is counted into its
+ * own map by a task on a ForkJoinPool, and the partial maps are merged pairwise
+ * as the tasks join. No map is ever shared between threads until it is merged,
+ * so any MapSet can be used without locking. countFileShared instead has every
+ * task count into one thread-safe map, with nothing to merge at the end.
+ */
+
+public class ParallelCounter {
+
+    // Chunks smaller than this are not split further
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    // How many chunks to aim for per thread, so that a slow chunk does not leave threads idle
+    private static final int CHUNKS_PER_THREAD = 4;
+    // How many bytes to read at a time while looking for a line break
+    private static final int SCAN_SIZE = 4096;
+
+    /**
+     * The counts of one chunk of the file: a map of word counts and the number of words.
+     */
+    private static class Partial {
+        MapSet<String, Integer> counts;
+        long words;
+
+        Partial(MapSet<String, Integer> counts, long words){
+            this.counts = counts;
+            this.words = words;
+        }
+    }
+
+    /**
+     * Counts the words of the given file on the given number of threads and adds
+     * the counts to the target map.
+     *
+     * @param filename the name of the file to be read
+     * @param threads  the number of threads to count with
+     * @param newMap   returns a new, empty map for each chunk
+     * @param target   the map the word counts are added to
+     * @return the number of words counted
+     * @throws java.io.FileNotFoundException if the file cannot be opened
+     * @throws IOException if the file cannot be read
+     */
+    public static long countFile(String filename, int threads, Supplier<MapSet<String, Integer>> newMap,
+                                 MapSet<String, Integer> target) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, channel.size() / ((long) threads * CHUNKS_PER_THREAD));
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            Partial result;
+            try {
+                result = pool.invoke(new ChunkTask(channel, 0, channel.size(), chunkSize, newMap));
+            }
+            catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            finally {
+                pool.shutdown();
+            }
+
+            if (result.counts != target){
+                mergeInto(target, result.counts);
+            }
+            return result.words;
+        }
+    }
+
+    /**
+     * Counts the words of the given file on the given number of threads, all of
+     * them adding to the one shared map. The map must be safe to update from
+     * several threads at once, such as a StripedHashMap.
+     *
+     * @param filename the name of the file to be read
+     * @param threads  the number of threads to count with
+     * @param shared   the map every thread adds its word counts to
+     * @return the number of words counted
+     * @throws java.io.FileNotFoundException if the file cannot be opened
+     * @throws IOException if the file cannot be read
+     */
+    public static long countFileShared(String filename, int threads, MapSet<String, Integer> shared) throws IOException {
+        return countFile(filename, threads, () -> shared, shared);
+    }
+
+    /**
+     * Adds every count of the source map to the target map.
+     *
+     * @param target the map the counts are added to
+     * @param source the map whose counts are added
+     */
+    private static void mergeInto(MapSet<String, Integer> target, MapSet<String, Integer> source){
+        if (target instanceof CounterMap){
+            CounterMap<String> counter = (CounterMap<String>) target;
+            source.forEach((word, count) -> counter.add(word, count));
+        }
+        else {
+            source.forEach((word, count) -> target.merge(word, count, Integer::sum));
+        }
+    }
+
+    /**
+     * Returns the position just past the first line break at or after the given
+     * position, or end if there is none before end.
+     *
+     * @param channel  the channel of the file
+     * @param position where to start looking
+     * @param end      where to stop looking
+     * @return the position of the first byte of the next line, at most end
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        while (position < end){
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++){
+                if (buffer.get(i) == '\n'){
+                    return Math.min(position + i + 1, end);
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    /**
+     * Counts the words between two positions of a file, splitting the range in
+     * two at a line break while it is larger than the chunk size.
+     */
+    private static class ChunkTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private final long chunkSize;
+        private final Supplier<MapSet<String, Integer>> newMap;
+
+        ChunkTask(FileChannel channel, long start, long end, long chunkSize, Supplier<MapSet<String, Integer>> newMap){
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.chunkSize = chunkSize;
+            this.newMap = newMap;
+        }
+
+        @Override
+        protected Partial compute(){
+            try {
+                if (end - start > chunkSize){
+                    long mid = nextLineStart(channel, start + (end - start) / 2, end);
+                    if (mid > start && mid < end){
+                        ChunkTask right = new ChunkTask(channel, mid, end, chunkSize, newMap);
+                        right.fork();
+                        Partial left = new ChunkTask(channel, start, mid, chunkSize, newMap).compute();
+                        return combine(left, right.join());
+                    }
+                }
+                return countChunk();
+            }
+            catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Counts the words of this task's range into the map from newMap.
+         *
+         * @return the counts of the range
+         * @throws IOException if the file cannot be read
+         */
+        private Partial countChunk() throws IOException {
+            MapSet<String, Integer> counts = newMap.get();
+            long[] words = new long[1];
+            if (counts instanceof CounterMap){
+                CounterMap<String> counter = (CounterMap<String>) counts;
+                WordReader.forEachWord(channel, start, end, word -> {
+                    counter.add(word, 1);
+                    words[0]++;
+                });
+            }
+            else {
+                WordReader.forEachWord(channel, start, end, word -> {
+                    counts.merge(word, 1, Integer::sum);
+                    words[0]++;
+                });
+            }
+            return new Partial(counts, words[0]);
+        }
+
+        /**
+         * Merges the smaller of two partial counts into the larger one, or only
+         * adds up the word counts if both ranges were counted into the same shared map.
+         *
+         * @param a the counts of one range
+         * @param b the counts of another range
+         * @return the combined counts
+         */
+        private static Partial combine(Partial a, Partial b){
+            if (a.counts == b.counts){
+                a.words += b.words;
+                return a;
+            }
+            if (a.counts.size() < b.counts.size()){
+                Partial swap = a;
+                a = b;
+                b = swap;
+            }
+            mergeInto(a.counts, b.counts);
+            a.words += b.words;
+            return a;
+        }
+    }
+}
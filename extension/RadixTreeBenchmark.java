@@ -0,0 +1,114 @@
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the BSTMap with the RadixTreeMap on each
+ * corpus: the heap each map keeps per distinct word, including the keys (a
+ * BSTMap keeps every word whole, a RadixTreeMap only the edge labels that
+ * are not shared with other words), and buildMap throughput in words per second.
+ *
+ * How to run:     java RadixTreeBenchmark [filename ...]
+ */
+
+public class RadixTreeBenchmark {
+
+    private static final int TRIALS = 10;
+
+    // Keeps the measured map reachable while the heap is sampled
+    private static MapSet<String, Integer> retained;
+
+    /**
+     * Returns the heap currently in use after several rounds of garbage collection.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++){
+            System.gc();
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Counts the words into a map from the given factory, which is what buildMap does.
+     *
+     * @param factory creates an empty map
+     * @param words   the words to be counted
+     * @return the filled map
+     */
+    private static MapSet<String, Integer> build(Supplier<MapSet<String, Integer>> factory, ArrayList<String> words){
+        MapSet<String, Integer> map = factory.get();
+        for (String word : words){
+            map.merge(word, 1, Integer::sum);
+        }
+        return map;
+    }
+
+    /**
+     * Prints the heap bytes per entry and the average build throughput of one map.
+     * The heap is measured on a map built from fresh copies of the distinct words,
+     * so that the keys it keeps are counted and the corpus's own Strings are not.
+     *
+     * @param name       the name of the map being measured
+     * @param factory    creates an empty map
+     * @param words      the words of the corpus
+     * @param vocabulary each distinct word of the corpus once
+     */
+    private static void measure(String name, Supplier<MapSet<String, Integer>> factory,
+                                ArrayList<String> words, ArrayList<String> vocabulary){
+        long before = usedHeap();
+        ArrayList<String> copies = new ArrayList<>(vocabulary.size());
+        for (String word : vocabulary){
+            copies.add(new String(word.toCharArray()));
+        }
+        retained = build(factory, copies);
+        copies = null;
+        long after = usedHeap();
+        double bytesPerEntry = (double) (after - before) / retained.size();
+        int maxDepth = retained.maxDepth();
+        String nodes = retained instanceof RadixTreeMap
+                ? ", " + ((RadixTreeMap<Integer>) retained).nodeCount() + " nodes" : "";
+        retained = null;
+
+        // Warm up the JIT before timing
+        build(factory, words);
+
+        double totalTime = 0.0;
+        for (int i = 0; i < TRIALS; i++){
+            long startTime = System.nanoTime();
+            build(factory, words);
+            totalTime += (System.nanoTime() - startTime) / 1e9;
+        }
+        double wordsPerSecond = words.size() / (totalTime / TRIALS);
+
+        System.out.printf("%-12s %8.1f bytes/entry, %6.2f M words/s, max depth: %d%s%n",
+                name, bytesPerEntry, wordsPerSecond / 1e6, maxDepth, nodes);
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            ArrayList<String> words = new WordCounter( "Radix" ).readWords( filename );
+            if (words == null) continue;
+            HashMap<String, Integer> distinct = new HashMap<>();
+            for (String word : words){
+                distinct.put(word, 0);
+            }
+            ArrayList<String> vocabulary = distinct.keySet();
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + words.size() + " words)\n");
+            measure("BSTMap", BSTMap::new, words, vocabulary);
+            measure("RadixTreeMap", RadixTreeMap::new, words, vocabulary);
+        }
+    }
+}
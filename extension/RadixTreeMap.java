@@ -0,0 +1,700 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To implement a Map from Strings with a compressed radix
+ * tree (Patricia trie). Each edge is labelled with a run of characters and
+ * every node with more than one child or a value of its own, so words that
+ * share a prefix ("thou", "thought", "through") share the nodes for it, and
+ * no key is stored whole. Lookup walks the characters of the key once, in
+ * O(key length), without hashing it or comparing it with whole keys.
+ * Children are kept sorted by their first character, so traversal yields
+ * the keys in String order, and prefixScan finds all the keys with a prefix
+ * under a single node. Keys are rebuilt from the edge labels as the
+ * traversal goes, so the pairs it returns are copies: setting their values
+ * does not change the map.
+ */
+
+public class RadixTreeMap<V> implements MapSet<String, V> {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node<?>[] NO_NODES = new Node<?>[0];
+
+    private Node<V> root;
+    private int size;
+
+    /**
+     * A node of the tree: the label of the edge from its parent, its value if
+     * a key ends here, and its children sorted by the first character of their labels.
+     */
+    private static class Node<V> {
+        private char[] label;
+        private V value;
+        private boolean hasValue;
+        // Sorted by the first character of their labels
+        private Node<V>[] children;
+        private int childCount;
+
+        /**
+         * Constructor for the Node class. The node has no value and no children.
+         *
+         * @param label the label of the edge from the parent
+         */
+        @SuppressWarnings("unchecked")
+        public Node(char[] label) {
+            this.label = label;
+            hasValue = false;
+            children = (Node<V>[]) NO_NODES;
+            childCount = 0;
+        }
+
+        /**
+         * Returns the index of the child whose label starts with the given character,
+         * or {@code -(insertion point + 1)} if there is none.
+         *
+         * @param c the first character of the label
+         * @return the index of the child, or {@code -(insertion point + 1)}
+         */
+        private int indexOf(char c) {
+            int lo = 0;
+            int hi = childCount - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char first = children[mid].label[0];
+                if (first < c) {
+                    lo = mid + 1;
+                }
+                else if (first > c) {
+                    hi = mid - 1;
+                }
+                else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        /**
+         * Returns the child whose label starts with the given character, or null.
+         *
+         * @param c the first character of the label
+         * @return the child, or null if there is none
+         */
+        private Node<V> child(char c) {
+            int i = indexOf(c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        /**
+         * Adds a child, keeping the children sorted. No other child may start
+         * with the same character.
+         *
+         * @param child the child to be added
+         */
+        private void addChild(Node<V> child) {
+            int i = -(indexOf(child.label[0]) + 1);
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+            }
+            System.arraycopy(children, i, children, i + 1, childCount - i);
+            children[i] = child;
+            childCount++;
+        }
+
+        /**
+         * Replaces the child that starts with the same character as the given node.
+         *
+         * @param child the new child
+         */
+        private void replaceChild(Node<V> child) {
+            children[indexOf(child.label[0])] = child;
+        }
+
+        /**
+         * Removes the child that starts with the given character.
+         *
+         * @param c the first character of the child's label
+         */
+        private void removeChild(char c) {
+            int i = indexOf(c);
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+    }
+
+    /**
+     * Constructor for the RadixTreeMap class.
+     * Initializes the root, which stands for the empty string, and the size to 0.
+     */
+    public RadixTreeMap(){
+        root = new Node<>(NO_CHARS);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Clears the RadixTreeMap.
+     * This method replaces the root with an empty one and sets size to 0.
+     */
+    public void clear(){
+        root = new Node<>(NO_CHARS);
+        size = 0;
+    }
+
+    /**
+     * Helper method to print the RadixTreeMap in a readable format.
+     *
+     * @param cur      the current node
+     * @param curDepth the current depth of the node
+     * @param sb       the StringBuilder to append the string to
+     */
+    private void toString(Node<V> cur, int curDepth, StringBuilder sb) {
+        sb.append("\t".repeat(curDepth)).append(cur.label);
+        if (cur.hasValue) {
+            sb.append(" -> ").append(cur.value);
+        }
+        sb.append("\n");
+        for (int i = 0; i < cur.childCount; i++) {
+            toString(cur.children[i], curDepth + 1, sb);
+        }
+    }
+
+    /**
+     * Prints the RadixTreeMap in a readable format: one edge label per line,
+     * indented by its depth, with the value of each key after the label where it ends.
+     *
+     * @return the string representation of the RadixTreeMap
+     */
+    public String toString() {
+        if (size() == 0) return "(empty radix tree)";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < root.childCount; i++) {
+            toString(root.children[i], 0, sb);
+        }
+        if (root.hasValue) {
+            sb.insert(0, "\"\" -> " + root.value + "\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the node where the given key ends, whether or not it holds a value,
+     * or null if no key in the tree starts with it.
+     *
+     * @param key the key to be searched
+     * @return the node where the key ends, or null if there is none
+     */
+    private Node<V> find(String key){
+        Node<V> cur = root;
+        int i = 0;
+        while (i < key.length()){
+            cur = cur.child(key.charAt(i));
+            if (cur == null || !matches(key, i, cur.label, cur.label.length)) return null;
+            i += cur.label.length;
+        }
+        return cur;
+    }
+
+    /**
+     * Returns whether the characters of the key from the given position start
+     * with the first n characters of the label.
+     *
+     * @param key   the key being walked
+     * @param from  the position in the key where the label starts
+     * @param label the label of an edge
+     * @param n     the number of characters of the label to compare
+     * @return true if they match
+     */
+    private static boolean matches(String key, int from, char[] label, int n){
+        if (key.length() - from < n) return false;
+        for (int j = 0; j < n; j++){
+            if (key.charAt(from + j) != label[j]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the node for the given key, adding it without a value if it is
+     * not in the tree. Splits the edge where the key leaves an existing label.
+     *
+     * @param key the key to be added
+     * @return the node where the key ends
+     */
+    private Node<V> insert(String key){
+        Node<V> cur = root;
+        int i = 0;
+        while (i < key.length()){
+            Node<V> next = cur.child(key.charAt(i));
+            if (next == null){
+                char[] rest = new char[key.length() - i];
+                key.getChars(i, key.length(), rest, 0);
+                Node<V> leaf = new Node<>(rest);
+                cur.addChild(leaf);
+                return leaf;
+            }
+
+            // Length of the common prefix of the label and the rest of the key (at least 1)
+            char[] label = next.label;
+            int common = 1;
+            int max = Math.min(label.length, key.length() - i);
+            while (common < max && label[common] == key.charAt(i + common)){
+                common++;
+            }
+
+            if (common < label.length){
+                // The key leaves the label part way: put a node at the branch point
+                Node<V> split = new Node<>(Arrays.copyOf(label, common));
+                cur.replaceChild(split);
+                next.label = Arrays.copyOfRange(label, common, label.length);
+                split.addChild(next);
+                next = split;
+            }
+            cur = next;
+            i += common;
+        }
+        return cur;
+    }
+
+    /**
+     * Sets the value of the given node, counting the key if it is new.
+     *
+     * @param node  the node where the key ends
+     * @param value the value to be stored
+     */
+    private void setValue(Node<V> node, V value){
+        if (!node.hasValue){
+            node.hasValue = true;
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Adds or updates a key-value pair in the RadixTreeMap.
+     *
+     * @param key   the key to be added or updated
+     * @param value the value to be stored
+     * @return the old value of the key, or null if the key was not in the map
+     */
+    public V put(String key, V value){
+        Node<V> node = insert(key);
+        V oldValue = node.value;
+        setValue(node, value);
+        return oldValue;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified key.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified key
+     */
+    public boolean containsKey(String key){
+        Node<V> node = find(key);
+        return node != null && node.hasValue;
+    }
+
+    /**
+     * Returns the value of the given key, or null if the key is not found.
+     *
+     * @param key the key to be searched
+     * @return the value of the key, or null if the key is not found
+     */
+    public V get(String key){
+        Node<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the
+     * results of the given remapping function, or removes it if the result is null.
+     * Only one walk of the tree is made when the key is present.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be merged with the existing value
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key, or null if no
+     *         value is associated with the key
+     */
+    public V merge(String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        Node<V> node = find(key);
+        if (node != null && node.hasValue){
+            V newValue = remappingFunction.apply(node.value, value);
+            if (newValue == null){
+                remove(key);
+            }
+            else {
+                node.value = newValue;
+            }
+            return newValue;
+        }
+        if (value != null){
+            setValue(insert(key), value);
+        }
+        return value;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (or null if there is no current mapping). If the function returns
+     * null, the mapping is removed (or remains absent if initially absent).
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with the specified key, or null if none
+     */
+    public V compute(String key, BiFunction<? super String, ? super V, ? extends V> remappingFunction){
+        Node<V> node = find(key);
+        boolean present = node != null && node.hasValue;
+        V newValue = remappingFunction.apply(key, present ? node.value : null);
+        if (newValue == null){
+            if (present) remove(key);
+        }
+        else if (present){
+            node.value = newValue;
+        }
+        else {
+            // The function may have changed the tree, so walk it again
+            setValue(insert(key), newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Removes the given key from the RadixTreeMap. A node left with no value
+     * and a single child is merged into that child, so every node except the
+     * root still has a value or a branch.
+     *
+     * @param key the key to be removed
+     * @return the value of the removed key, or null if the key is not found
+     */
+    public V remove(String key){
+        Node<V> grandparent = null;
+        Node<V> parent = null;
+        Node<V> cur = root;
+        int i = 0;
+        while (i < key.length()){
+            Node<V> next = cur.child(key.charAt(i));
+            if (next == null || !matches(key, i, next.label, next.label.length)) return null;
+            grandparent = parent;
+            parent = cur;
+            cur = next;
+            i += next.label.length;
+        }
+        if (!cur.hasValue) return null;
+
+        V oldValue = cur.value;
+        cur.value = null;
+        cur.hasValue = false;
+        size--;
+
+        if (cur == root) return oldValue;
+        if (cur.childCount == 0){
+            parent.removeChild(cur.label[0]);
+            // The parent may now be a valueless node with a single child
+            if (parent != root && !parent.hasValue && parent.childCount == 1){
+                mergeWithChild(grandparent, parent);
+            }
+        }
+        else if (cur.childCount == 1){
+            mergeWithChild(parent, cur);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Replaces a valueless node that has a single child by that child, with
+     * the two labels joined.
+     *
+     * @param parent the parent of the node
+     * @param node   the node to be merged away
+     */
+    private void mergeWithChild(Node<V> parent, Node<V> node){
+        Node<V> child = node.children[0];
+        char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+        child.label = label;
+        parent.replaceChild(child);
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map, in sorted order.
+     *
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<String> keySet(){
+        ArrayList<String> keys = new ArrayList<>(size);
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+    /**
+     * Returns an ArrayList of all the values in the map in the same order as the
+     * keys as returned by keySet().
+     *
+     * @return an ArrayList of all the values in the map in the same order as the
+     *         keys as returned by keySet().
+     */
+    public ArrayList<V> values(){
+        ArrayList<V> values = new ArrayList<>(size);
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet().
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the keys as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<String, V>> entrySet(){
+        ArrayList<KeyValuePair<String, V>> entries = new ArrayList<>(size);
+        forEach((key, value) -> entries.add(new KeyValuePair<>(key, value)));
+        return entries;
+    }
+
+    /**
+     * Performs the given action for each key and value in sorted order, building
+     * every key in one StringBuilder shared by the whole walk.
+     *
+     * @param action the action to be performed for each key and value
+     */
+    @Override
+    public void forEach(BiConsumer<? super String, ? super V> action){
+        forEach(root, new StringBuilder(), action);
+    }
+
+    /**
+     * Helper method to walk a subtree in sorted order.
+     *
+     * @param cur    the root of the subtree
+     * @param path   the key of cur's parent; restored before returning
+     * @param action the action to be performed for each key and value
+     */
+    private void forEach(Node<V> cur, StringBuilder path, BiConsumer<? super String, ? super V> action){
+        int length = path.length();
+        path.append(cur.label);
+        if (cur.hasValue){
+            action.accept(path.toString(), cur.value);
+        }
+        for (int i = 0; i < cur.childCount; i++){
+            forEach(cur.children[i], path, action);
+        }
+        path.setLength(length);
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in key order.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map, in key order
+     */
+    public Iterator<KeyValuePair<String, V>> iterator(){
+        return new EntryIterator(root, "");
+    }
+
+    /**
+     * Returns the entries whose keys start with the given prefix, in key order,
+     * lazily. They are all under the node where the prefix ends, which is found
+     * in one walk of the prefix.
+     *
+     * @param prefix the prefix of the keys to be included
+     * @return the entries whose keys start with prefix, in key order
+     */
+    public Iterable<KeyValuePair<String, V>> prefixScan(String prefix){
+        return () -> {
+            Node<V> cur = root;
+            int i = 0;
+            while (i < prefix.length()){
+                cur = cur.child(prefix.charAt(i));
+                if (cur == null) return new EntryIterator(null, "");
+                int n = Math.min(cur.label.length, prefix.length() - i);
+                if (!matches(prefix, i, cur.label, n)) return new EntryIterator(null, "");
+                i += cur.label.length;
+            }
+            // The prefix may end part way along the last label
+            return new EntryIterator(cur, prefix.substring(0, i - cur.label.length));
+        };
+    }
+
+    /**
+     * An iterator over the entries of a subtree in key order. It keeps the path
+     * from the subtree's root as a stack of nodes and the index of the next
+     * child to visit in each, and the key of the current node in a StringBuilder.
+     */
+    private class EntryIterator implements Iterator<KeyValuePair<String, V>> {
+        private ArrayList<Node<V>> nodes = new ArrayList<>();
+        private int[] nextChild = new int[8];
+        // The length of the key before each node's label
+        private int[] pathLength = new int[8];
+        private StringBuilder path;
+        private KeyValuePair<String, V> next;
+
+        /**
+         * Constructor for the EntryIterator class.
+         *
+         * @param start  the root of the subtree, or null for no entries
+         * @param parent the key of start's parent
+         */
+        private EntryIterator(Node<V> start, String parent) {
+            path = new StringBuilder(parent);
+            if (start != null) {
+                push(start);
+            }
+            advance();
+        }
+
+        /**
+         * Pushes a node onto the stack and appends its label to the path.
+         * Sets next if a key ends at the node.
+         */
+        private void push(Node<V> node) {
+            int depth = nodes.size();
+            if (depth == nextChild.length) {
+                nextChild = Arrays.copyOf(nextChild, depth * 2);
+                pathLength = Arrays.copyOf(pathLength, depth * 2);
+            }
+            nodes.add(node);
+            nextChild[depth] = 0;
+            pathLength[depth] = path.length();
+            path.append(node.label);
+            if (node.hasValue) {
+                next = new KeyValuePair<>(path.toString(), node.value);
+            }
+        }
+
+        /**
+         * Moves to the next node in sorted order that holds a value, or empties
+         * the stack and sets next to null if there is none.
+         */
+        private void advance() {
+            if (next != null) return;
+            while (!nodes.isEmpty()) {
+                int top = nodes.size() - 1;
+                Node<V> node = nodes.get(top);
+                if (nextChild[top] < node.childCount) {
+                    push(node.children[nextChild[top]++]);
+                    if (next != null) return;
+                }
+                else {
+                    nodes.remove(top);
+                    path.setLength(pathLength[top]);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public KeyValuePair<String, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            KeyValuePair<String, V> cur = next;
+            next = null;
+            advance();
+            return cur;
+        }
+    }
+
+    /**
+     * Returns the number of nodes in the tree, including the root, to compare
+     * with the one node per key of a binary search tree.
+     *
+     * @return the number of nodes in the tree
+     */
+    public int nodeCount(){
+        return nodeCount(root);
+    }
+
+    /**
+     * Helper method to count the nodes of a subtree.
+     *
+     * @param cur the root of the subtree
+     * @return the number of nodes in the subtree
+     */
+    private int nodeCount(Node<V> cur){
+        int count = 1;
+        for (int i = 0; i < cur.childCount; i++){
+            count += nodeCount(cur.children[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the maximal number of nodes visited to find any particular key,
+     * which is the height of the tree below the root. It is never more than
+     * the length of the longest key.
+     *
+     * @return the maximum depth of the RadixTreeMap
+     */
+    public int maxDepth(){
+        return height(root);
+    }
+
+    /**
+     * Helper method to find the height of a subtree, counting the edges below its root.
+     *
+     * @param cur the root of the subtree
+     * @return the number of edges on the longest path down from cur
+     */
+    private int height(Node<V> cur){
+        int height = 0;
+        for (int i = 0; i < cur.childCount; i++){
+            height = Math.max(height, height(cur.children[i]) + 1);
+        }
+        return height;
+    }
+
+    public static void main(String[] args){
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+
+        System.out.println("-".repeat(50));
+        System.out.println("Testing prefix sharing in RadixTreeMap\n");
+
+        String[] words = {"thou", "thee", "thy", "thought", "through", "the", "un", "undo", "redo", "re"};
+        for (int i = 0; i < words.length; i++){
+            map.put(words[i], i);
+        }
+
+        System.out.println("Map: \n" + map);
+        System.out.println("Size: " + map.size() + ", Should be 10");
+        System.out.println("keySet: " + map.keySet() + ", Should be [re, redo, the, thee, thou, thought, through, thy, un, undo]");
+        System.out.println("Get thought: " + map.get("thought") + ", Should be 3");
+        System.out.println("Get tho: " + map.get("tho") + ", Should be null");
+        System.out.print("prefixScan(\"thou\"):");
+        for (KeyValuePair<String, Integer> entry : map.prefixScan("thou")){
+            System.out.print(" " + entry);
+        }
+        System.out.println(", Should be <thou -> 0> <thought -> 3>");
+
+        System.out.println("-".repeat(20));
+        System.out.println("Remove every key but \"thy\" and \"undo\"\n");
+        for (String word : words){
+            if (!word.equals("thy") && !word.equals("undo")){
+                map.remove(word);
+            }
+        }
+        System.out.println("Map: \n" + map);
+        System.out.println("Size: " + map.size() + ", Should be 2");
+        System.out.println("Nodes: " + map.nodeCount() + ", Should be 3");
+        System.out.println("Max Depth: " + map.maxDepth() + ", Should be 1");
+    }
+}
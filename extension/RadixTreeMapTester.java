@@ -0,0 +1,162 @@
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the RadixTreeMap class.
+ */
+
+public class RadixTreeMapTester {
+
+    /**
+     * Returns the keys that prefixScan yields for the given prefix.
+     *
+     * @param map    the map to be scanned
+     * @param prefix the prefix of the keys
+     * @return the keys, in the order prefixScan yields them
+     */
+    private static ArrayList<String> scan(RadixTreeMap<Integer> map, String prefix){
+        ArrayList<String> keys = new ArrayList<>();
+        for (MapSet.KeyValuePair<String, Integer> entry : map.prefixScan( prefix )){
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Testing put, get, containsKey, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        map.put( "thou", 1 );
+        map.put( "the", 2 );
+        map.put( "thy", 3 );
+        Integer oldValue = map.put( "the", 4 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Put the again --- old value is " + oldValue + ", should be 2" );
+        System.out.println( "Get the --- value is " + map.get( "the" ) + ", should be 4" );
+        System.out.println( "Get th --- value is " + map.get( "th" ) + ", should be null" );
+        System.out.println( "Remove thou --- value is " + removed + ", should be 1" );
+        System.out.println( "Remove thou again --- value is " + map.remove( "thou" ) + ", should be null" );
+        System.out.println( "Contains thou: " + map.containsKey( "thou" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+    }
+
+    /**
+     * Testing edge splitting: a key that leaves a label part way splits the
+     * edge at the branch point, and a key that ends inside a label gets a node there
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        String expected = "After adding test, team\nte\n\tam -> 2\n\tst -> 1\n"
+                + "\nAfter adding te\nte -> 3\n\tam -> 2\n\tst -> 1\n"
+                + "\nAfter adding testing\nte -> 3\n\tam -> 2\n\tst -> 1\n\t\ting -> 4\n";
+        System.out.println("Expected output: " + expected );
+        System.out.println("-".repeat(15) + "\n");
+        String actual = "";
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        map.put( "test", 1 );
+        map.put( "team", 2 );
+        actual += "After adding test, team\n" + map;
+        map.put( "te", 3 );
+        actual += "\nAfter adding te\n" + map;
+        map.put( "testing", 4 );
+        actual += "\nAfter adding testing\n" + map;
+        System.out.println("Actual output: " + actual );
+        System.out.println("For test 2: expected and actual output are equal == " + actual.equals( expected ) );
+        System.out.println( "Nodes: " + map.nodeCount() + ", should be 5" );
+        System.out.println( "Max depth: " + map.maxDepth() + ", should be 3" );
+    }
+
+    /**
+     * Testing that removing keys merges valueless single-child nodes back into their child
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        map.put( "test", 1 );
+        map.put( "team", 2 );
+        map.put( "te", 3 );
+        map.put( "testing", 4 );
+        map.remove( "te" );
+        map.remove( "team" );
+        String expected = "test -> 1\n\ting -> 4\n";
+        String actual = map.toString();
+        System.out.println("Expected output: " + expected );
+        System.out.println("Actual output: " + actual );
+        System.out.println("For test 3: expected and actual output are equal == " + actual.equals( expected ) );
+        map.remove( "test" );
+        System.out.println( "After removing test: " + map.toString().trim() + ", should be testing -> 4" );
+        System.out.println( "Nodes: " + map.nodeCount() + ", should be 2" );
+    }
+
+    /**
+     * Testing prefixScan, including a prefix that ends part way along an edge
+     */
+    public static void test4(){
+        System.out.println("-".repeat(30) + "\nTest4: ");
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        String[] words = {"thou", "thee", "thy", "thought", "through", "the", "un", "undo", "redo", "re"};
+        for (int i = 0; i < words.length; i++){
+            map.put( words[i], i );
+        }
+        System.out.println("For test 4: the following values should be equal: " );
+        System.out.println( "prefixScan(th): " + scan(map, "th") + ", should be [the, thee, thou, thought, through, thy]" );
+        System.out.println( "prefixScan(thou): " + scan(map, "thou") + ", should be [thou, thought]" );
+        System.out.println( "prefixScan(thr): " + scan(map, "thr") + ", should be [through]" );
+        System.out.println( "prefixScan(tha): " + scan(map, "tha") + ", should be []" );
+        System.out.println( "prefixScan(undone): " + scan(map, "undone") + ", should be []" );
+        System.out.println( "prefixScan(empty) size: " + scan(map, "").size() + ", should be 10" );
+    }
+
+    /**
+     * Testing random puts, merges and removes against java.util.TreeMap, including sorted traversal
+     */
+    public static void test5(){
+        System.out.println("-".repeat(30) + "\nTest5: ");
+        RadixTreeMap<Integer> map = new RadixTreeMap<>();
+        TreeMap<String, Integer> expected = new TreeMap<>();
+        String[] pieces = {"a", "b", "ab", "ba", "th", "e"};
+        Random rand = new Random(231);
+        boolean sameResults = true;
+        for (int i = 0; i < 20000; i++){
+            StringBuilder sb = new StringBuilder();
+            int length = rand.nextInt(5);
+            for (int j = 0; j < length; j++){
+                sb.append(pieces[rand.nextInt(pieces.length)]);
+            }
+            String key = sb.toString();
+            int op = rand.nextInt(3);
+            if (op == 0){
+                sameResults = sameResults && Objects.equals( map.remove( key ), expected.remove( key ) );
+            }
+            else if (op == 1){
+                sameResults = sameResults && Objects.equals( map.merge( key, 1, Integer::sum ), expected.merge( key, 1, Integer::sum ) );
+            }
+            else {
+                sameResults = sameResults && Objects.equals( map.put( key, i ), expected.put( key, i ) );
+            }
+        }
+        System.out.println("For test 5: the following values should be equal: " );
+        System.out.println( "Every operation returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same keys in sorted order: " + map.keySet().equals( new ArrayList<>(expected.keySet()) ) + ", should be true" );
+        System.out.println( "Same values in order: " + map.values().equals( new ArrayList<>(expected.values()) ) + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be " + expected.size() );
+        // Every node but the root holds a key or branches, so there are fewer than two nodes per key
+        System.out.println( "Fewer than two nodes per key: " + (map.nodeCount() - 1 < 2 * map.size()) + ", should be true" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+        test4();
+        test5();
+    }
+
+}
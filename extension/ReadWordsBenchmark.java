@@ -0,0 +1,52 @@
+import java.util.ArrayList;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the time taken to read and tokenize each corpus
+ * with the memory-mapped WordReader (readWords) and with the original
+ * BufferedReader.readLine() and String.split() path (readWordsByLine).
+ *
+ * How to run:     java ReadWordsBenchmark
+ */
+
+public class ReadWordsBenchmark {
+
+    private static final int WARMUP = 3;
+    private static final int TRIALS = 10;
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            WordCounter wc = new WordCounter( "HashMap" );
+            ArrayList<String> mapped = wc.readWords( filename );
+            if (mapped == null) continue;
+            ArrayList<String> byLine = wc.readWordsByLine( filename );
+
+            System.out.println("-".repeat(50) + "\n" + filename + "\n");
+            System.out.println("Same words from both readers: " + mapped.equals( byLine ) + " (" + mapped.size() + " words)");
+
+            // Warm up the JIT before timing
+            for (int i = 0; i < WARMUP; i++){
+                wc.readWordsByLine( filename );
+                wc.readWords( filename );
+            }
+
+            double timeByLine = 0.0;
+            double timeMapped = 0.0;
+            for (int i = 0; i < TRIALS; i++){
+                long startTime = System.nanoTime();
+                wc.readWordsByLine( filename );
+                timeByLine += (System.nanoTime() - startTime) / 1e6;
+
+                startTime = System.nanoTime();
+                wc.readWords( filename );
+                timeMapped += (System.nanoTime() - startTime) / 1e6;
+            }
+
+            System.out.printf("Average time (readWordsByLine): %8.2f ms%n", timeByLine / TRIALS);
+            System.out.printf("Average time (readWords):       %8.2f ms%n", timeMapped / TRIALS);
+        }
+    }
+}
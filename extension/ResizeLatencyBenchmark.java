@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the latency of individual put calls on a HashMap
+ * that resizes all at once with one that resizes incrementally. Each put is
+ * timed separately, so the cost of a full rehash shows up in the worst case.
+ *
+ * How to run:     java -Xms2g -Xmx2g ResizeLatencyBenchmark [number of distinct keys]
+ *                 (a fixed heap keeps garbage collection pauses out of the figures)
+ */
+
+public class ResizeLatencyBenchmark {
+
+    /**
+     * Puts every key into a fresh map, timing each call, and prints the
+     * latency percentiles and the worst case.
+     *
+     * @param name        the name of the resize mode being measured
+     * @param incremental whether the map resizes incrementally
+     * @param keys        the distinct keys to be inserted
+     */
+    private static void measure(String name, boolean incremental, ArrayList<String> keys){
+        HashMap<String, Integer> map = new HashMap<>(16, 0.75, incremental);
+        long[] latencies = new long[keys.size()];
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < keys.size(); i++){
+            long before = System.nanoTime();
+            map.put(keys.get(i), i);
+            latencies[i] = System.nanoTime() - before;
+        }
+        double totalTime = (System.nanoTime() - startTime) / 1e6;
+
+        Arrays.sort(latencies);
+        int slowPuts = 0;
+        for (long latency : latencies){
+            if (latency > 1000000) slowPuts++;
+        }
+        System.out.printf("%-12s total: %7.1f ms, p50: %5d ns, p99: %6d ns, p99.9: %7d ns, max: %9d ns, puts over 1 ms: %d%n",
+                name, totalTime,
+                latencies[(int) (latencies.length * 0.50)],
+                latencies[(int) (latencies.length * 0.99)],
+                latencies[(int) (latencies.length * 0.999)],
+                latencies[latencies.length - 1], slowPuts);
+    }
+
+    public static void main(String[] args){
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+
+        ArrayList<String> keys = new ArrayList<>(n);
+        for (int i = 0; i < n; i++){
+            keys.add("word" + i);
+        }
+
+        System.out.println("-".repeat(50) + "\nPut latency for " + n + " distinct keys\n");
+
+        // Warm up the JIT before timing
+        for (int i = 0; i < 3; i++){
+            new HashMap<String, Integer>(16, 0.75, false).put("warm", i);
+            measure("warm-up", i % 2 == 0, new ArrayList<>(keys.subList(0, Math.min(n, 200000))));
+        }
+        System.out.println();
+
+        measure("Eager", false, keys);
+        measure("Incremental", true, keys);
+    }
+}
@@ -0,0 +1,102 @@
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the chained HashMap with the open-addressing
+ * RobinHoodHashMap on each corpus: heap bytes per entry (not counting the key
+ * strings, which both maps share) and buildMap throughput in words per second.
+ *
+ * How to run:     java RobinHoodBenchmark
+ */
+
+public class RobinHoodBenchmark {
+
+    private static final int TRIALS = 10;
+
+    // Keeps the measured map reachable while the heap is sampled
+    private static MapSet<String, Integer> retained;
+
+    /**
+     * Returns the heap currently in use after several rounds of garbage
+     * collection. The pauses let reference-processing threads release objects
+     * (such as the reader buffers from readWords) between rounds.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeap(){
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++){
+            System.gc();
+            try {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Counts the words into a map from the given factory, which is what buildMap does.
+     *
+     * @param factory creates an empty map
+     * @param words   the words to be counted
+     * @return the filled map
+     */
+    private static MapSet<String, Integer> build(Supplier<MapSet<String, Integer>> factory, ArrayList<String> words){
+        MapSet<String, Integer> map = factory.get();
+        for (String word : words){
+            map.merge(word, 1, Integer::sum);
+        }
+        return map;
+    }
+
+    /**
+     * Prints the heap bytes per entry and the average build throughput of one map.
+     *
+     * @param name    the name of the map being measured
+     * @param factory creates an empty map
+     * @param words   the words of the corpus
+     */
+    private static void measure(String name, Supplier<MapSet<String, Integer>> factory, ArrayList<String> words){
+        long before = usedHeap();
+        retained = build(factory, words);
+        long after = usedHeap();
+        double bytesPerEntry = (double) (after - before) / retained.size();
+        int maxDepth = retained.maxDepth();
+        retained = null;
+
+        // Warm up the JIT before timing
+        build(factory, words);
+
+        double totalTime = 0.0;
+        for (int i = 0; i < TRIALS; i++){
+            long startTime = System.nanoTime();
+            build(factory, words);
+            totalTime += (System.nanoTime() - startTime) / 1e9;
+        }
+        double wordsPerSecond = words.size() / (totalTime / TRIALS);
+
+        System.out.printf("%-18s %8.1f bytes/entry, %6.2f M words/s, max depth: %d%n",
+                name, bytesPerEntry, wordsPerSecond / 1e6, maxDepth);
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            WordCounter wc = new WordCounter( "HashMap" );
+            ArrayList<String> words = wc.readWords( filename );
+            if (words == null) continue;
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + words.size() + " words)\n");
+            measure("HashMap", HashMap::new, words);
+            measure("RobinHoodHashMap", RobinHoodHashMap::new, words);
+            // Robin Hood probing keeps probes short at loads chained tables avoid
+            measure("RobinHood (0.9)", () -> new RobinHoodHashMap<>(16, 0.9), words);
+        }
+    }
+}
@@ -0,0 +1,556 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of the class: An open-addressing HashMap using Robin Hood linear probing.
+ * Keys, values and hashes live in three flat arrays, so there is no Node object
+ * per entry and a lookup scans neighbouring slots instead of chasing pointers.
+ * An entry that has probed further than the one occupying a slot takes that slot,
+ * which keeps probe lengths short and lets lookups stop early. Removal shifts the
+ * following entries back by one slot, so no tombstones are ever left behind.
+ */
+
+public class RobinHoodHashMap<K,V> implements MapSet<K,V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int size;
+    private K[] keys;
+    private V[] values;
+    // Spread hash of the key in each slot; 0 marks an empty slot
+    private int[] hashes;
+    private double maxLoadFactor;
+
+    /**
+     * Constructor for the RobinHoodHashMap class.
+     * Initializes the size to 0 and the arrays to a default capacity of 16.
+     */
+    public RobinHoodHashMap(){
+        this(16, 0.75);
+    }
+
+    /**
+     * Constructor for the RobinHoodHashMap class.
+     * Initializes the size to 0 and the arrays to the given capacity.
+     *
+     * @param capacity the initial capacity, rounded up to a power of two
+     */
+    public RobinHoodHashMap(int capacity){
+        this(capacity, 0.75);
+    }
+
+    /**
+     * Constructor for the RobinHoodHashMap class.
+     * Initializes the size to 0, the arrays to the given capacity,
+     * and the max load factor to the given load factor.
+     *
+     * @param capacity   the initial capacity, rounded up to a power of two
+     * @param loadFactor the maximum load factor, which must be below 1
+     * @throws IllegalArgumentException if the load factor is not between 0 and 1
+     */
+    public RobinHoodHashMap(int capacity, double loadFactor){
+        // At a load factor of 1 the table can fill up, and probing for a new key never ends
+        if (!(loadFactor > 0 && loadFactor < 1)){
+            throw new IllegalArgumentException("Load factor must be between 0 and 1, exclusive: " + loadFactor);
+        }
+        this.maxLoadFactor = loadFactor;
+        allocate(tableSizeFor(capacity));
+        this.size = 0;
+    }
+
+    /**
+     * Returns the smallest power of two that is at least the given capacity.
+     *
+     * @param capacity the requested capacity
+     * @return a power of two no smaller than capacity and MIN_CAPACITY
+     */
+    private static int tableSizeFor(int capacity){
+        int n = MIN_CAPACITY;
+        while (n < capacity){
+            n *= 2;
+        }
+        return n;
+    }
+
+    /**
+     * Replaces the arrays with empty arrays of the given capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void allocate(int capacity){
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        hashes = new int[capacity];
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return the number of slots
+     */
+    public int capacity(){
+        return hashes.length;
+    }
+
+    /**
+     * Returns the spread hash of the given key. Never returns 0, which marks empty slots.
+     *
+     * @param key the key to be hashed
+     * @return the spread, non-zero hash of the key
+     */
+    private static int hash(Object key){
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Returns how far the entry with the given hash, sitting in the given slot,
+     * is from its home slot.
+     *
+     * @param hash the hash of the entry
+     * @param slot the slot the entry sits in
+     * @return the probe distance of the entry
+     */
+    private int probeDistance(int hash, int slot){
+        return (slot - hash) & (hashes.length - 1);
+    }
+
+    /**
+     * Returns the slot holding the given key, or -1 if the key is absent.
+     *
+     * @param key the key to be searched
+     * @return the slot of the key, or -1
+     */
+    private int find(K key){
+        int h = hash(key);
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        for (int dist = 0; ; dist++){
+            int slotHash = hashes[slot];
+            if (slotHash == 0 || probeDistance(slotHash, slot) < dist){
+                // An empty slot, or an entry closer to home than we are, ends the probe
+                return -1;
+            }
+            if (slotHash == h && keys[slot].equals(key)){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Return the number of key-value mappings (size).
+     *
+     * @return the number of key-value mappings (size)
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Resets the fields of the RobinHoodHashMap to their default values.
+     */
+    public void clear(){
+        allocate(16);
+        size = 0;
+    }
+
+    /**
+     * Returns the string representation of the RobinHoodHashMap.
+     *
+     * @return the string representation of the RobinHoodHashMap
+     */
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < capacity(); i++) {
+            sb.append("slot ").append(i).append(": ");
+            if (hashes[i] != 0) {
+                sb.append("<").append(keys[i]).append(" -> ").append(values[i]).append(">");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Puts the given key-value pair into the RobinHoodHashMap.
+     * If the key already exists, it updates the value.
+     *
+     * @param key   the key to be added
+     * @param value the value to be added
+     * @return the old value associated with the key, or null if there was no mapping for the key
+     */
+    public V put(K key, V value){
+        int h = hash(key);
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        for (int dist = 0; ; dist++){
+            int slotHash = hashes[slot];
+            if (slotHash == 0 || probeDistance(slotHash, slot) < dist){
+                insertAt(slot, dist, h, key, value);
+                return null;
+            }
+            if (slotHash == h && keys[slot].equals(key)){
+                V oldValue = values[slot];
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null.
+     * The key is located (or inserted) in a single probe sequence.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        int h = hash(key);
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        for (int dist = 0; ; dist++){
+            int slotHash = hashes[slot];
+            if (slotHash == 0 || probeDistance(slotHash, slot) < dist){
+                insertAt(slot, dist, h, key, value);
+                return value;
+            }
+            if (slotHash == h && keys[slot].equals(key)){
+                V oldValue = values[slot];
+                V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+                if (newValue == null){
+                    removeAt(slot);
+                }
+                else {
+                    values[slot] = newValue;
+                }
+                return newValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent).
+     * The key is located (or inserted) in a single probe sequence.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        int h = hash(key);
+        int mask = hashes.length - 1;
+        int slot = h & mask;
+        for (int dist = 0; ; dist++){
+            int slotHash = hashes[slot];
+            if (slotHash == 0 || probeDistance(slotHash, slot) < dist){
+                V newValue = remappingFunction.apply(key, null);
+                if (newValue != null){
+                    insertAt(slot, dist, h, key, newValue);
+                }
+                return newValue;
+            }
+            if (slotHash == h && keys[slot].equals(key)){
+                V newValue = remappingFunction.apply(key, values[slot]);
+                if (newValue == null){
+                    removeAt(slot);
+                }
+                else {
+                    values[slot] = newValue;
+                }
+                return newValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Inserts a key that is known to be absent at the slot where its probe ended.
+     * Grows the table first if the insert would pass the max load factor.
+     *
+     * @param slot  the slot where the probe for the key ended
+     * @param dist  the probe distance of the key at that slot
+     * @param h     the hash of the key
+     * @param key   the key to be added
+     * @param value the value to be added
+     */
+    private void insertAt(int slot, int dist, int h, K key, V value){
+        if (size + 1 > capacity() * maxLoadFactor){
+            resize(capacity() * 2);
+            place(h, key, value);
+        }
+        else {
+            placeFrom(slot, dist, h, key, value);
+        }
+        size++;
+    }
+
+    /**
+     * Places an entry known to be absent, starting the probe at its home slot.
+     *
+     * @param h     the hash of the key
+     * @param key   the key to be placed
+     * @param value the value to be placed
+     */
+    private void place(int h, K key, V value){
+        placeFrom(h & (hashes.length - 1), 0, h, key, value);
+    }
+
+    /**
+     * Robin Hood placement: walks forward from the given slot, and whenever the
+     * entry being carried has probed further than the resident entry, swaps them
+     * and carries the resident entry on instead, until an empty slot is reached.
+     *
+     * @param slot  the slot to start from
+     * @param dist  the probe distance of the carried entry at that slot
+     * @param h     the hash of the carried entry
+     * @param key   the key of the carried entry
+     * @param value the value of the carried entry
+     */
+    private void placeFrom(int slot, int dist, int h, K key, V value){
+        int mask = hashes.length - 1;
+        while (true){
+            int slotHash = hashes[slot];
+            if (slotHash == 0){
+                hashes[slot] = h;
+                keys[slot] = key;
+                values[slot] = value;
+                return;
+            }
+            int slotDist = probeDistance(slotHash, slot);
+            if (slotDist < dist){
+                K slotKey = keys[slot];
+                V slotValue = values[slot];
+                hashes[slot] = h;
+                keys[slot] = key;
+                values[slot] = value;
+                h = slotHash;
+                key = slotKey;
+                value = slotValue;
+                dist = slotDist;
+            }
+            slot = (slot + 1) & mask;
+            dist++;
+        }
+    }
+
+    /**
+     * Moves every entry into new arrays of the given capacity. The stored hashes
+     * are reused, so no key is rehashed or compared.
+     *
+     * @param newCapacity the new capacity, a power of two
+     */
+    private void resize(int newCapacity){
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newCapacity);
+        for (int i = 0; i < oldHashes.length; i++){
+            if (oldHashes[i] != 0){
+                place(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the value associated with the given key.
+     * If the key does not exist, it returns null.
+     *
+     * @param key the key to be searched
+     * @return the value associated with the key, or null if the key does not exist
+     */
+    public V get(K key){
+        int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key to a value.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     *         key to a value.
+     */
+    public boolean containsKey(K key){
+        return find(key) >= 0;
+    }
+
+    /**
+     * Removes the key-value pair with the given key from the RobinHoodHashMap.
+     *
+     * @param key the key to be removed
+     * @return the value associated with the removed key, or null if the key does not exist
+     */
+    public V remove(K key){
+        int slot = find(key);
+        if (slot < 0) return null;
+        V oldValue = values[slot];
+        removeAt(slot);
+        return oldValue;
+    }
+
+    /**
+     * Empties the given slot using backward-shift deletion: every following entry
+     * that is not in its home slot moves back by one, so no tombstone is needed.
+     * Shrinks the table if the size falls below a quarter of the max load.
+     *
+     * @param slot the slot to be emptied
+     */
+    private void removeAt(int slot){
+        int mask = hashes.length - 1;
+        int next = (slot + 1) & mask;
+        while (hashes[next] != 0 && probeDistance(hashes[next], next) > 0){
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = 0;
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+
+        // Check if the size is less than the threshold to downsize: fC/4
+        if (capacity() > MIN_CAPACITY && size < (capacity() * maxLoadFactor) / 4){
+            resize(capacity() / 2);
+        }
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map.
+     *
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<K> keySet(){
+        ArrayList<K> keySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                keySet.add(keys[i]);
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns an ArrayList of all the values in the map in the same order as the
+     * keys as returned by keySet().
+     *
+     * @return an ArrayList of all the values in the map in the same order as the
+     *         keys as returned by keySet().
+     */
+    public ArrayList<V> values(){
+        ArrayList<V> valueSet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                valueSet.add(values[i]);
+            }
+        }
+        return valueSet;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(). There are no nodes to hand out,
+     * so the pairs are copies; setting their values does not change the map.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the keys as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<K, V>> entrySet(){
+        ArrayList<KeyValuePair<K, V>> entrySet = new ArrayList<>(size);
+        for (int i = 0; i < capacity(); i++) {
+            if (hashes[i] != 0) {
+                entrySet.add(new KeyValuePair<>(keys[i], values[i]));
+            }
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(), scanning the slots as it goes.
+     * There are no entry objects to hand out, so each step returns a new pair;
+     * setting its value does not change the map. Use forEach to visit every
+     * entry without allocating.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return new Iterator<KeyValuePair<K, V>>() {
+            private int slot = nextSlot(0);
+
+            @Override
+            public boolean hasNext() {
+                return slot < hashes.length;
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if (slot >= hashes.length) throw new NoSuchElementException();
+                KeyValuePair<K, V> entry = new KeyValuePair<>(keys[slot], values[slot]);
+                slot = nextSlot(slot + 1);
+                return entry;
+            }
+        };
+    }
+
+    /**
+     * Returns the first occupied slot at or after the given one, or the capacity if there is none.
+     *
+     * @param slot the slot to start looking from
+     * @return the first occupied slot at or after slot, or the capacity
+     */
+    private int nextSlot(int slot){
+        while (slot < hashes.length && hashes[slot] == 0){
+            slot++;
+        }
+        return slot;
+    }
+
+    /**
+     * Performs the given action for each key and value in the map, reading
+     * them straight from the slots.
+     *
+     * @param action the action to be performed for each key and value
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action){
+        for (int i = 0; i < hashes.length; i++){
+            if (hashes[i] != 0){
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map, which is the longest probe distance plus one.
+     *
+     * @return the maximal number of slots probed to find any key
+     */
+    public int maxDepth(){
+        int depth = 0;
+        for (int i = 0; i < capacity(); i++){
+            if (hashes[i] != 0){
+                depth = Math.max(depth, probeDistance(hashes[i], i) + 1);
+            }
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,162 @@
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the RobinHoodHashMap class.
+ */
+
+public class RobinHoodHashMapTester {
+
+    /**
+     * Returns the given lines of the map's toString, one slot per line.
+     *
+     * @param map  the map to be printed
+     * @param from the first slot
+     * @param to   the slot after the last
+     * @return the lines for slots from to to - 1
+     */
+    private static String slots(RobinHoodHashMap<Integer, Integer> map, int from, int to){
+        String[] lines = map.toString().split("\n");
+        return String.join("\n", Arrays.copyOfRange(lines, from, to));
+    }
+
+    /**
+     * Returns whether the constructor rejects the given load factor.
+     *
+     * @param loadFactor the load factor to be tried
+     * @return true if the constructor throws IllegalArgumentException
+     */
+    private static boolean rejects(double loadFactor){
+        try {
+            new RobinHoodHashMap<String, Integer>(16, loadFactor);
+            return false;
+        }
+        catch (IllegalArgumentException ex) {
+            return true;
+        }
+    }
+
+    /**
+     * Testing put, get, containsKey, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        RobinHoodHashMap<String, Integer> map = new RobinHoodHashMap<>();
+        map.put( "thou", 1 );
+        map.put( "the", 2 );
+        map.put( "thy", 3 );
+        Integer oldValue = map.put( "the", 4 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Put the again --- old value is " + oldValue + ", should be 2" );
+        System.out.println( "Get the --- value is " + map.get( "the" ) + ", should be 4" );
+        System.out.println( "Remove thou --- value is " + removed + ", should be 1" );
+        System.out.println( "Remove thou again --- value is " + map.remove( "thou" ) + ", should be null" );
+        System.out.println( "Contains thou: " + map.containsKey( "thou" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+        System.out.println( "Load factors 0, 1 and 1.5 rejected: " + (rejects( 0 ) && rejects( 1 ) && rejects( 1.5 )) + ", should be true" );
+        System.out.println( "Load factor 0.9 rejected: " + rejects( 0.9 ) + ", should be false" );
+    }
+
+    /**
+     * Testing that a key far from home takes the slot of a key closer to home
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        // Integer keys below 65536 hash to themselves, so 1 and 17 share home slot 1 of 16
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>(16, 0.9);
+        map.put( 1, 1 );
+        map.put( 2, 2 );
+        map.put( 17, 17 );
+        String expected = "slot 1: <1 -> 1>\nslot 2: <17 -> 17>\nslot 3: <2 -> 2>";
+        String actual = slots(map, 1, 4);
+        System.out.println("Expected output: \n" + expected );
+        System.out.println("Actual output: \n" + actual );
+        System.out.println("For test 2: expected and actual output are equal == " + actual.equals( expected ) );
+        System.out.println( "Get 2 --- value is " + map.get( 2 ) + ", should be 2" );
+        System.out.println( "Max depth: " + map.maxDepth() + ", should be 2" );
+    }
+
+    /**
+     * Testing backward-shift deletion: removing a key from a run moves the
+     * following displaced keys back one slot, leaving no tombstone
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>(16, 0.9);
+        // 1, 17, 33 and 49 all have home slot 1; 5, 6 and 7 sit in their own home slots
+        int[] keys = {1, 17, 33, 49, 5, 6, 7};
+        for (int key : keys){
+            map.put( key, key );
+        }
+        String before = slots(map, 1, 6);
+        int depthBefore = map.maxDepth();
+        map.remove( 17 );
+        String expected = "slot 1: <1 -> 1>\nslot 2: <33 -> 33>\nslot 3: <49 -> 49>\nslot 4: \nslot 5: <5 -> 5>";
+        String actual = slots(map, 1, 6);
+        System.out.println("Before removing 17: \n" + before );
+        System.out.println("Expected output: \n" + expected );
+        System.out.println("Actual output: \n" + actual );
+        System.out.println("For test 3: expected and actual output are equal == " + actual.equals( expected ) );
+        System.out.println( "Max depth before: " + depthBefore + ", should be 4" );
+        System.out.println( "Max depth after: " + map.maxDepth() + ", should be 3" );
+        System.out.println( "Get 33 and 49: " + map.get( 33 ) + " " + map.get( 49 ) + ", should be 33 49" );
+        System.out.println( "Size: " + map.size() + ", should be 6" );
+    }
+
+    /**
+     * Testing growth, shrinking, and random puts and removes against java.util.HashMap
+     */
+    public static void test4(){
+        System.out.println("-".repeat(30) + "\nTest4: ");
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>();
+        for (int i = 0; i < 1000; i++){
+            map.put( i, i );
+        }
+        int grownCapacity = map.capacity();
+        for (int i = 10; i < 1000; i++){
+            map.remove( i );
+        }
+        int shrunkCapacity = map.capacity();
+        boolean kept = true;
+        for (int i = 0; i < 10; i++){
+            kept = kept && map.get( i ) == i;
+        }
+
+        java.util.HashMap<Integer, Integer> expected = new java.util.HashMap<>();
+        RobinHoodHashMap<Integer, Integer> random = new RobinHoodHashMap<>();
+        Random rand = new Random(231);
+        boolean sameResults = true;
+        for (int i = 0; i < 20000; i++){
+            int key = rand.nextInt(2000);
+            if (rand.nextInt(3) == 0){
+                sameResults = sameResults && Objects.equals( random.remove( key ), expected.remove( key ) );
+            }
+            else {
+                sameResults = sameResults && Objects.equals( random.put( key, i ), expected.put( key, i ) );
+            }
+        }
+        boolean sameEntries = random.size() == expected.size();
+        for (MapSet.KeyValuePair<Integer, Integer> entry : random){
+            sameEntries = sameEntries && entry.getValue().equals( expected.get( entry.getKey() ) );
+        }
+
+        System.out.println("For test 4: the following values should be equal: " );
+        System.out.println( "Capacity after 1000 keys: " + grownCapacity + ", should be at least " + (int) Math.ceil(1000 / 0.75) );
+        System.out.println( "Capacity shrank after removing 990: " + (shrunkCapacity < grownCapacity) + ", should be true" );
+        System.out.println( "Remaining 10 keys found: " + kept + ", should be true" );
+        System.out.println( "Every random put and remove returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same entries as java.util.HashMap: " + sameEntries + ", should be true" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+        test4();
+    }
+
+}
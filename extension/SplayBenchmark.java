@@ -0,0 +1,73 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To compare the number of key comparisons a BSTMap and a
+ * SplayMap make while counting the words of each corpus. Word frequencies are
+ * heavily skewed, so a splay tree should keep the hottest words near the root.
+ *
+ * How to run:     java SplayBenchmark
+ */
+
+public class SplayBenchmark {
+
+    /**
+     * A comparator that counts how many times it has been called.
+     */
+    private static class CountingComparator implements Comparator<String> {
+        private long comparisons = 0;
+
+        @Override
+        public int compare(String o1, String o2) {
+            comparisons++;
+            return o1.compareTo(o2);
+        }
+    }
+
+    /**
+     * Counts every word into the map, then looks every word up once more,
+     * and prints the average comparisons per operation for each phase.
+     *
+     * @param name  the name of the map being measured
+     * @param map   the (empty) map, built with the given comparator
+     * @param cmp   the comparator used by the map
+     * @param words the words of the corpus
+     */
+    private static void measure(String name, MapSet<String, Integer> map, CountingComparator cmp, ArrayList<String> words){
+        long startTime = System.nanoTime();
+        for (String word : words){
+            map.merge(word, 1, Integer::sum);
+        }
+        double buildTime = (System.nanoTime() - startTime) / 1e6;
+        long buildComparisons = cmp.comparisons;
+
+        cmp.comparisons = 0;
+        for (String word : words){
+            map.get(word);
+        }
+        long lookupComparisons = cmp.comparisons;
+
+        System.out.printf("%-10s build: %7.2f comparisons/word (%.1f ms), lookup: %7.2f comparisons/word, max depth: %d%n",
+                name, (double) buildComparisons / words.size(), buildTime,
+                (double) lookupComparisons / words.size(), map.maxDepth());
+    }
+
+    public static void main(String[] args){
+        String[] filenames = args.length > 0 ? args : new String[] {"CLEANED_reddit_comments_2015.txt", "CLEANED_shakespeare.txt"};
+
+        for (String filename : filenames){
+            ArrayList<String> words = new WordCounter( "BST" ).readWords( filename );
+            if (words == null) continue;
+
+            System.out.println("-".repeat(50) + "\n" + filename + " (" + words.size() + " words)\n");
+
+            CountingComparator bstComparator = new CountingComparator();
+            measure("BSTMap", new BSTMap<String, Integer>(bstComparator), bstComparator, words);
+
+            CountingComparator splayComparator = new CountingComparator();
+            measure("SplayMap", new SplayMap<String, Integer>(splayComparator), splayComparator, words);
+        }
+    }
+}
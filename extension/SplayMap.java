@@ -0,0 +1,469 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To implement a self-adjusting (splay tree) Map.
+ * Every access splays the key to the root, so frequently counted words
+ * such as "the" stay within a few comparisons of the top of the tree.
+ */
+
+public class SplayMap<K, V> implements MapSet<K, V>{
+
+    private Node<K,V> root;
+    private int size;
+    private Comparator<K> comparator;
+
+    // Scratch node used to assemble the left and right trees during a splay
+    private final Node<K,V> header;
+
+    /**
+     * Creates a node using the given key and value.
+     */
+    private static class Node<K, V> extends KeyValuePair<K, V>{
+        private Node<K, V> left;
+        private Node<K, V> right;
+
+        /**
+         * Constructor for the Node class.
+         * @param k the key
+         * @param v the value
+         */
+        public Node(K k, V v) {
+            super(k, v);
+            left = null;
+            right = null;
+        }
+    }
+
+    /**
+     * Constructor for the SplayMap class.
+     *
+     * @param comparator the comparator to be used for sorting the keys
+     */
+    public SplayMap(Comparator<K> comparator){
+        root = null;
+        size = 0;
+        header = new Node<>(null, null);
+
+        if(comparator != null){
+            this.comparator = comparator;
+        }
+        else{
+            this.comparator = new Comparator<K>(){
+                @Override
+                public int compare(K o1, K o2) {
+                    return ((Comparable<K>) o1).compareTo(o2);
+                }
+            };
+        }
+    }
+
+    /**
+     * Default constructor for the SplayMap class.
+     * This constructor uses the comparator as null.
+     */
+    public SplayMap(){
+        this(null);
+    }
+
+    /**
+     * Helper method to print the SplayMap in a readable format.
+     *
+     * @param cur the current node
+     * @param curDepth the current depth of the node
+     * @param sb the StringBuilder to append the string to
+     */
+    private void toString(Node<K, V> cur, int curDepth, StringBuilder sb) {
+        if (cur == null)
+            return;
+
+        toString(cur.right, curDepth + 1, sb);
+        sb.append("\t".repeat(curDepth) + cur + "\n");
+        toString(cur.left, curDepth + 1, sb);
+    }
+
+    /**
+     * Prints the SplayMap in a readable format.
+     *
+     * @return the string representation of the SplayMap
+     */
+    public String toString() {
+        if (size() == 0) return "(empty Splay)";
+        StringBuilder sb = new StringBuilder();
+        toString(this.root, 0, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * Clears the SplayMap.
+     * This method sets the root to null and size to 0.
+     */
+    public void clear(){
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Top-down splay: moves the node holding the key, or the last node visited
+     * while looking for it, to the root. The tree must not be empty.
+     *
+     * @param key the key to be splayed
+     * @return the result of comparing key with the key of the new root
+     */
+    private int splay(K key){
+        Node<K, V> left = header;
+        Node<K, V> right = header;
+        Node<K, V> cur = root;
+        header.left = null;
+        header.right = null;
+        // Each comparison is used once: a key compared with a child is not compared again when the walk moves to it
+        int cmp = comparator.compare(key, cur.getKey());
+
+        while (cmp != 0){
+            if (cmp < 0){
+                if (cur.left == null) break;
+                cmp = comparator.compare(key, cur.left.getKey());
+                if (cmp < 0){
+                    // Zig-zig: rotate right
+                    Node<K, V> child = cur.left;
+                    cur.left = child.right;
+                    child.right = cur;
+                    cur = child;
+                    if (cur.left == null) break;
+                    // Link cur into the right tree
+                    right.left = cur;
+                    right = cur;
+                    cur = cur.left;
+                    cmp = comparator.compare(key, cur.getKey());
+                }
+                else {
+                    // Link cur into the right tree; cmp is already the comparison with its left child
+                    right.left = cur;
+                    right = cur;
+                    cur = cur.left;
+                }
+            }
+            else {
+                if (cur.right == null) break;
+                cmp = comparator.compare(key, cur.right.getKey());
+                if (cmp > 0){
+                    // Zig-zig: rotate left
+                    Node<K, V> child = cur.right;
+                    cur.right = child.left;
+                    child.left = cur;
+                    cur = child;
+                    if (cur.right == null) break;
+                    // Link cur into the left tree
+                    left.right = cur;
+                    left = cur;
+                    cur = cur.right;
+                    cmp = comparator.compare(key, cur.getKey());
+                }
+                else {
+                    // Link cur into the left tree; cmp is already the comparison with its right child
+                    left.right = cur;
+                    left = cur;
+                    cur = cur.right;
+                }
+            }
+        }
+
+        // Reassemble the left, middle and right trees
+        left.right = cur.left;
+        right.left = cur.right;
+        cur.left = header.right;
+        cur.right = header.left;
+        root = cur;
+        header.left = null;
+        header.right = null;
+        return cmp;
+    }
+
+    /**
+     * Links a new node in as the root, splitting the old root around it.
+     * Assumes the key has just been splayed and is not in the tree.
+     *
+     * @param cmp   the result of comparing key with the key of the current root
+     * @param key   the key to be added
+     * @param value the value to be added
+     */
+    private void insertAtRoot(int cmp, K key, V value){
+        Node<K, V> node = new Node<>(key, value);
+        if (root != null){
+            if (cmp < 0){
+                node.left = root.left;
+                node.right = root;
+                root.left = null;
+            }
+            else {
+                node.right = root.right;
+                node.left = root;
+                root.right = null;
+            }
+        }
+        root = node;
+        size++;
+    }
+
+    /**
+     * Removes the root, joining its two subtrees.
+     */
+    private void removeRoot(){
+        if (root.left == null){
+            root = root.right;
+        }
+        else {
+            Node<K, V> right = root.right;
+            K key = root.getKey();
+            root = root.left;
+            // Every key in the left subtree is smaller, so this brings its maximum to the root
+            splay(key);
+            root.right = right;
+        }
+        size--;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key   key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with key, or
+     *         null if there was no mapping for key.
+     */
+    public V put(K key, V value){
+        int cmp = root == null ? 0 : splay(key);
+        if (root != null && cmp == 0){
+            V oldValue = root.getValue();
+            root.setValue(value);
+            return oldValue;
+        }
+        insertAtRoot(cmp, key, value);
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key to a value.
+     *
+     * @param key The key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     *         key to a value.
+     */
+    public boolean containsKey(K key){
+        return root != null && splay(key) == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     *         {@code null} if this map contains no mapping for the key
+     */
+    public V get(K key){
+        if (root == null || splay(key) != 0) return null;
+        return root.getValue();
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null.
+     * The key is located (or inserted) with a single splay.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        int cmp = root == null ? 0 : splay(key);
+        if (root != null && cmp == 0){
+            V oldValue = root.getValue();
+            V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+            if (newValue == null){
+                removeRoot();
+            }
+            else {
+                root.setValue(newValue);
+            }
+            return newValue;
+        }
+        insertAtRoot(cmp, key, value);
+        return value;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent).
+     * The key is located (or inserted) with a single splay.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        int cmp = root == null ? 0 : splay(key);
+        if (root != null && cmp == 0){
+            V newValue = remappingFunction.apply(key, root.getValue());
+            if (newValue == null){
+                removeRoot();
+            }
+            else {
+                root.setValue(newValue);
+            }
+            return newValue;
+        }
+        V newValue = remappingFunction.apply(key, null);
+        if (newValue != null){
+            insertAtRoot(cmp, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. More formally,
+     * if this map contains a mapping from key {@code k} to value {@code v} such
+     * that {@code key.equals(k)}, that mapping is removed. (The map can contain at
+     * most one such mapping.)
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     */
+    public V remove(K key){
+        if (root == null || splay(key) != 0) return null; // key not found
+        V oldValue = root.getValue();
+        removeRoot();
+        return oldValue;
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map, in sorted order.
+     *
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<K> keySet(){
+        ArrayList<K> keys = new ArrayList<>(size);
+        for (KeyValuePair<K, V> entry : entrySet()){
+            keys.add(entry.getKey());
+        }
+        return keys;
+    }
+
+    /**
+     * Returns an ArrayList of all the values in the map in the same order as the
+     * keys as returned by keySet().
+     *
+     * @return an ArrayList of all the values in the map in the same order as the
+     *         keys as returned by keySet().
+     */
+    public ArrayList<V> values(){
+        ArrayList<V> values = new ArrayList<>(size);
+        for (KeyValuePair<K, V> entry : entrySet()){
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(). A splay tree can be as deep
+     * as it is large, so the in-order walk uses an explicit stack.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map in the same
+     *         order as the keys as returned by keySet().
+     */
+    public ArrayList<KeyValuePair<K, V>> entrySet(){
+        ArrayList<KeyValuePair<K, V>> entries = new ArrayList<>(size);
+        ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        Node<K, V> cur = root;
+        while (cur != null || !stack.isEmpty()){
+            while (cur != null){
+                stack.push(cur);
+                cur = cur.left;
+            }
+            cur = stack.pop();
+            entries.add(cur);
+            cur = cur.right;
+        }
+        return entries;
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in key order.
+     * The pairs are the map's own nodes, reached through an explicit stack as the
+     * iterator goes. Iterating does not splay, so it leaves the tree's shape alone.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map, in key order
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return new Iterator<KeyValuePair<K, V>>() {
+            private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(Node<K, V> cur) {
+                while (cur != null) {
+                    stack.push(cur);
+                    cur = cur.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                Node<K, V> cur = stack.pop();
+                pushLeft(cur.right);
+                return cur;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map. This changes as lookups splay keys to the root.
+     *
+     * @return the maximum depth of the SplayMap
+     */
+    public int maxDepth(){
+        int depth = 0;
+        ArrayDeque<Node<K, V>> level = new ArrayDeque<>();
+        if (root != null) level.add(root);
+        while (!level.isEmpty()){
+            depth++;
+            for (int i = level.size(); i > 0; i--){
+                Node<K, V> cur = level.poll();
+                if (cur.left != null) level.add(cur.left);
+                if (cur.right != null) level.add(cur.right);
+            }
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the SplayMap class.
+ */
+
+public class SplayMapTester {
+
+    /**
+     * Returns the pair at the root of the map, the only line of its toString that is not indented.
+     *
+     * @param map the map to be printed
+     * @return the root's line of the map's toString, or null if there is none
+     */
+    private static String root(SplayMap<Integer, Integer> map){
+        for (String line : map.toString().split("\n")){
+            if (!line.startsWith("\t")){
+                return line;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Testing put, get, containsKey, remove and size
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        SplayMap<String, Integer> map = new SplayMap<>();
+        map.put( "thou", 1 );
+        map.put( "the", 2 );
+        map.put( "thy", 3 );
+        Integer oldValue = map.put( "the", 4 );
+        Integer removed = map.remove( "thou" );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Put the again --- old value is " + oldValue + ", should be 2" );
+        System.out.println( "Get the --- value is " + map.get( "the" ) + ", should be 4" );
+        System.out.println( "Get thee --- value is " + map.get( "thee" ) + ", should be null" );
+        System.out.println( "Remove thou --- value is " + removed + ", should be 1" );
+        System.out.println( "Remove thou again --- value is " + map.remove( "thou" ) + ", should be null" );
+        System.out.println( "Contains thou: " + map.containsKey( "thou" ) + ", should be false" );
+        System.out.println( "Contains thy: " + map.containsKey( "thy" ) + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 2" );
+        map.clear();
+        System.out.println( "After clear: " + map + ", should be (empty Splay)" );
+    }
+
+    /**
+     * Testing that an access moves the key to the root, and that splaying the
+     * deepest key of a chain roughly halves its depth
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        SplayMap<Integer, Integer> map = new SplayMap<>();
+        // Each new largest key is splayed to the root, so the tree is a chain down its left side
+        for (int i = 1; i <= 1000; i++){
+            map.put( i, i );
+        }
+        int chainDepth = map.maxDepth();
+        map.get( 1 );
+        String afterGet = root(map);
+        int splayedDepth = map.maxDepth();
+        map.containsKey( 500 );
+        String afterContains = root(map);
+        map.get( 5000 );
+        String afterMiss = root(map);
+        System.out.println("For test 2: the following values should be equal: " );
+        System.out.println( "Max depth of 1000 sorted keys: " + chainDepth + ", should be 1000" );
+        System.out.println( "Root after get 1: " + afterGet + ", should be <1 -> 1>" );
+        System.out.println( "Max depth after get 1: " + splayedDepth + ", should be at most 502" );
+        System.out.println( "Root after containsKey 500: " + afterContains + ", should be <500 -> 500>" );
+        System.out.println( "Root after get 5000, which is missing: " + afterMiss + ", should be <1000 -> 1000>" );
+    }
+
+    /**
+     * Testing that iteration yields the keys in order after many splays, without
+     * changing the shape of the tree, and that setting a pair's value changes the map
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        SplayMap<Integer, Integer> map = new SplayMap<>();
+        Random rand = new Random(231);
+        for (int i = 0; i < 500; i++){
+            map.put( rand.nextInt(1000), i );
+        }
+        for (int i = 0; i < 2000; i++){
+            map.get( rand.nextInt(1000) );
+        }
+        String shape = map.toString();
+        ArrayList<Integer> iterated = new ArrayList<>();
+        for (MapSet.KeyValuePair<Integer, Integer> entry : map){
+            iterated.add( entry.getKey() );
+        }
+        boolean sameShape = shape.equals( map.toString() );
+        for (MapSet.KeyValuePair<Integer, Integer> entry : map){
+            entry.setValue( -entry.getKey() );
+        }
+        boolean sorted = iterated.size() == map.size();
+        for (int i = 1; i < iterated.size(); i++){
+            sorted = sorted && iterated.get( i - 1 ) < iterated.get( i );
+        }
+        boolean written = true;
+        for (int key : iterated){
+            written = written && map.get( key ) == -key;
+        }
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Iterated keys in increasing order: " + sorted + ", should be true" );
+        System.out.println( "Same order as keySet: " + iterated.equals( map.keySet() ) + ", should be true" );
+        System.out.println( "Iterating left the shape alone: " + sameShape + ", should be true" );
+        System.out.println( "setValue through the iterator changed the map: " + written + ", should be true" );
+    }
+
+    /**
+     * Testing merge and compute, including removal by a null result
+     */
+    public static void test4(){
+        System.out.println("-".repeat(30) + "\nTest4: ");
+        SplayMap<String, Integer> map = new SplayMap<>();
+        map.merge( "the", 1, Integer::sum );
+        map.merge( "the", 1, Integer::sum );
+        map.compute( "thy", (k, v) -> v == null ? 10 : v + 1 );
+        map.compute( "thy", (k, v) -> v == null ? 10 : v + 1 );
+        map.compute( "thee", (k, v) -> null );
+        Integer mergedAway = map.merge( "the", 1, (a, b) -> null );
+        System.out.println("For test 4: the following values should be equal: " );
+        System.out.println( "Get thy --- value is " + map.get( "thy" ) + ", should be 11" );
+        System.out.println( "Merge the to null returns " + mergedAway + ", should be null" );
+        System.out.println( "Contains the after merge to null: " + map.containsKey( "the" ) + ", should be false" );
+        System.out.println( "Contains thee after compute to null: " + map.containsKey( "thee" ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 1" );
+    }
+
+    /**
+     * Testing random puts, gets, merges and removes against java.util.TreeMap
+     */
+    public static void test5(){
+        System.out.println("-".repeat(30) + "\nTest5: ");
+        SplayMap<Integer, Integer> map = new SplayMap<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        Random rand = new Random(231);
+        boolean sameResults = true;
+        for (int i = 0; i < 20000; i++){
+            int key = rand.nextInt(2000);
+            int op = rand.nextInt(4);
+            if (op == 0){
+                sameResults = sameResults && Objects.equals( map.remove( key ), expected.remove( key ) );
+            }
+            else if (op == 1){
+                sameResults = sameResults && Objects.equals( map.get( key ), expected.get( key ) );
+            }
+            else if (op == 2){
+                sameResults = sameResults && Objects.equals( map.merge( key, 1, Integer::sum ), expected.merge( key, 1, Integer::sum ) );
+            }
+            else {
+                sameResults = sameResults && Objects.equals( map.put( key, i ), expected.put( key, i ) );
+            }
+        }
+        System.out.println("For test 5: the following values should be equal: " );
+        System.out.println( "Every operation returned the same value: " + sameResults + ", should be true" );
+        System.out.println( "Same keys in order: " + map.keySet().equals( new ArrayList<>(expected.keySet()) ) + ", should be true" );
+        System.out.println( "Same values in order: " + map.values().equals( new ArrayList<>(expected.values()) ) + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be " + expected.size() );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+        test4();
+        test5();
+    }
+
+}
@@ -0,0 +1,482 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of the class: A separate-chaining hash map, like HashMap, that several
+ * threads can use at once. The buckets are guarded by a fixed number of locks
+ * (stripes): a key's stripe depends only on its hash, so every bucket a key can
+ * ever be in, before or after a resize, is guarded by the same lock. put, merge,
+ * compute and remove hold that one lock, so merge(word, 1, Integer::sum) is an
+ * atomic increment, and threads counting words in different stripes never wait
+ * for each other. get and containsKey take no lock at all: bucket heads are read
+ * from an AtomicReferenceArray and the chain links and values are volatile, so a
+ * reader always sees fully built nodes. A resize takes every stripe lock and copies
+ * the nodes into a new table, leaving the old chains intact for readers still
+ * walking them. keySet, values, entrySet and iteration are weakly consistent:
+ * they see the map as it is while they walk it, and never fail because of
+ * concurrent changes.
+ */
+
+public class StripedHashMap<K, V> implements MapSet<K, V> {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    /**
+     * A node in a chain. Unlike HashMap's nodes these are not KeyValuePairs,
+     * because their value and link must be volatile for lock-free reads.
+     */
+    private static class Node<K, V> {
+        final K key;
+        final int hash;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private final ReentrantLock[] locks;
+    private final AtomicInteger size;
+    private final double maxLoadFactor;
+
+    /**
+     * Constructor for the StripedHashMap class.
+     * Initializes the table to a capacity of 64, the max load factor to 0.75,
+     * and the number of lock stripes to 64.
+     */
+    public StripedHashMap() {
+        this(DEFAULT_STRIPES, 0.75, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor for the StripedHashMap class.
+     *
+     * @param capacity   the initial capacity, rounded up to a power of two no smaller than stripes
+     * @param loadFactor the maximum load factor
+     * @param stripes    the number of locks, rounded up to a power of two
+     */
+    public StripedHashMap(int capacity, double loadFactor, int stripes) {
+        int n = 1;
+        while (n < stripes) {
+            n *= 2;
+        }
+        locks = new ReentrantLock[n];
+        for (int i = 0; i < n; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        while (n < capacity) {
+            n *= 2;
+        }
+        table = new AtomicReferenceArray<>(n);
+        size = new AtomicInteger();
+        maxLoadFactor = loadFactor;
+    }
+
+    /**
+     * Returns the spread hash of the given key.
+     *
+     * @param key the key to be hashed
+     * @return the hash code of the key with its high bits folded into the low bits
+     */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the lock guarding every bucket the given hash can be in. The
+     * capacity is always a multiple of the number of stripes, so the low bits
+     * that pick the stripe are part of the bucket index at every capacity.
+     *
+     * @param h the spread hash of a key
+     * @return the lock for the key
+     */
+    private ReentrantLock lockFor(int h) {
+        return locks[h & (locks.length - 1)];
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the number of buckets
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Returns the number of lock stripes.
+     *
+     * @return the number of lock stripes
+     */
+    public int stripes() {
+        return locks.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map. While other threads
+     * are adding or removing keys this is only a snapshot.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        lockAll();
+        try {
+            table = new AtomicReferenceArray<>(locks.length);
+            size.set(0);
+        }
+        finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Takes every stripe lock, always in the same order, so that two threads
+     * doing this cannot deadlock.
+     */
+    private void lockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+    }
+
+    /**
+     * Releases every stripe lock.
+     */
+    private void unlockAll() {
+        for (ReentrantLock lock : locks) {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the node holding the given key, or null if there is none, without locking.
+     *
+     * @param key the key to be searched
+     * @return the node holding the key, or null
+     */
+    private Node<K, V> findNode(K key) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        Node<K, V> current = tab.get(h & (tab.length() - 1));
+        while (current != null) {
+            if (current.hash == h && current.key.equals(key)) {
+                return current;
+            }
+            current = current.next;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key. Takes no lock.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null
+     */
+    public V get(K key) {
+        Node<K, V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns true if this map contains a mapping for the specified key. Takes no lock.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return true if this map contains a mapping for the specified key
+     */
+    public boolean containsKey(K key) {
+        return findNode(key) != null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced. Does nothing if value is null.
+     *
+     * @param key   key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no mapping for key
+     */
+    public V put(K key, V value) {
+        if (value == null) return get(key);
+        return update(key, (k, oldValue) -> value, true);
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null. The
+     * whole update happens under the key's stripe lock, so it is atomic.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return update(key, (k, oldValue) -> oldValue == null ? value : remappingFunction.apply(oldValue, value), false);
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent). The whole
+     * update happens under the key's stripe lock, so it is atomic.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return update(key, remappingFunction, false);
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no mapping for key
+     */
+    public V remove(K key) {
+        return update(key, (k, oldValue) -> null, true);
+    }
+
+    /**
+     * Helper method for put, merge, compute and remove. Under the key's stripe
+     * lock, finds the key's node, applies the function to its current value (null
+     * if absent), and then adds, updates or unlinks the node.
+     *
+     * @param key            the key to be updated
+     * @param function       computes the new value from the key and its current value; null removes the key
+     * @param returnOldValue whether to return the old value (put, remove) instead of the new one
+     * @return the old or the new value, as chosen by returnOldValue
+     */
+    private V update(K key, BiFunction<? super K, ? super V, ? extends V> function, boolean returnOldValue) {
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        boolean grow = false;
+        V oldValue;
+        V newValue;
+
+        lock.lock();
+        try {
+            // Read the table under the lock: a resize holds every lock, so it cannot swap the table now
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = h & (tab.length() - 1);
+            Node<K, V> previous = null;
+            Node<K, V> current = tab.get(index);
+            while (current != null && !(current.hash == h && current.key.equals(key))) {
+                previous = current;
+                current = current.next;
+            }
+
+            oldValue = current == null ? null : current.value;
+            newValue = function.apply(key, oldValue);
+
+            if (current != null) {
+                if (newValue != null) {
+                    current.value = newValue;
+                }
+                else if (previous == null) {
+                    tab.set(index, current.next);
+                    size.decrementAndGet();
+                }
+                else {
+                    previous.next = current.next;
+                    size.decrementAndGet();
+                }
+            }
+            else if (newValue != null) {
+                // New nodes go at the head, so readers already walking the chain are not disturbed
+                tab.set(index, new Node<>(key, h, newValue, tab.get(index)));
+                grow = size.incrementAndGet() > tab.length() * maxLoadFactor;
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+
+        // Resize after releasing the stripe lock, since resizing takes every lock
+        if (grow) {
+            resize();
+        }
+        return returnOldValue ? oldValue : newValue;
+    }
+
+    /**
+     * Doubles the capacity if the max load factor is still exceeded once every
+     * lock is held. The nodes are copied into the new table rather than relinked,
+     * so threads reading the old table without a lock still see whole chains.
+     */
+    private void resize() {
+        lockAll();
+        try {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            if (size.get() <= oldTable.length() * maxLoadFactor) {
+                return; // another thread has already resized
+            }
+
+            int newCapacity = oldTable.length() * 2;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newCapacity);
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> current = oldTable.get(i); current != null; current = current.next) {
+                    int index = current.hash & (newCapacity - 1);
+                    newTable.set(index, new Node<>(current.key, current.hash, current.value, newTable.get(index)));
+                }
+            }
+            table = newTable;
+        }
+        finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Returns the string representation of the StripedHashMap.
+     *
+     * @return the string representation of the StripedHashMap
+     */
+    public String toString() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < tab.length(); i++) {
+            sb.append("bin ").append(i).append(": ");
+            for (Node<K, V> current = tab.get(i); current != null; current = current.next) {
+                sb.append("<").append(current.key).append(" -> ").append(current.value).append(">");
+                if (current.next != null) {
+                    sb.append(" -> ");
+                }
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map. The iterator
+     * walks the buckets of the table as it was when the iterator was created,
+     * without locking, and returns a new pair for each node; setting a pair's
+     * value does not change the map.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, V>> iterator() {
+        return new Iterator<KeyValuePair<K, V>>() {
+            private final AtomicReferenceArray<Node<K, V>> tab = table;
+            private int bucket = -1;
+            private Node<K, V> next = advance(null);
+
+            /**
+             * Returns the node after the given one, moving on to the next
+             * non-empty bucket at the end of a chain, or null at the end.
+             */
+            private Node<K, V> advance(Node<K, V> current) {
+                if (current != null && current.next != null) {
+                    return current.next;
+                }
+                while (++bucket < tab.length()) {
+                    Node<K, V> head = tab.get(bucket);
+                    if (head != null) {
+                        return head;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if (next == null) throw new NoSuchElementException();
+                Node<K, V> current = next;
+                next = advance(current);
+                return new KeyValuePair<>(current.key, current.value);
+            }
+        };
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map.
+     *
+     * @return an ArrayList of all the keys in the map
+     */
+    public ArrayList<K> keySet() {
+        ArrayList<K> keySet = new ArrayList<>(size());
+        for (KeyValuePair<K, V> entry : this) {
+            keySet.add(entry.getKey());
+        }
+        return keySet;
+    }
+
+    /**
+     * Returns an ArrayList of all the values in the map in the same order as the
+     * keys as returned by keySet(), if the map is not changed in between.
+     *
+     * @return an ArrayList of all the values in the map
+     */
+    public ArrayList<V> values() {
+        ArrayList<V> values = new ArrayList<>(size());
+        for (KeyValuePair<K, V> entry : this) {
+            values.add(entry.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(), if the map is not changed in
+     * between. The pairs are copies; setting their values does not change the map.
+     *
+     * @return an ArrayList of each {@code KeyValuePair} in the map
+     */
+    public ArrayList<KeyValuePair<K, V>> entrySet() {
+        ArrayList<KeyValuePair<K, V>> entrySet = new ArrayList<>(size());
+        for (KeyValuePair<K, V> entry : this) {
+            entrySet.add(entry);
+        }
+        return entrySet;
+    }
+
+    /**
+     * Returns the maximal number of iterations to find any particular element of
+     * the Map, which is the length of the longest chain.
+     *
+     * @return the length of the longest chain
+     */
+    public int maxDepth() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int depth = 0;
+        for (int i = 0; i < tab.length(); i++) {
+            int curDepth = 0;
+            for (Node<K, V> current = tab.get(i); current != null; current = current.next) {
+                curDepth++;
+            }
+            depth = Math.max(depth, curDepth);
+        }
+        return depth;
+    }
+}
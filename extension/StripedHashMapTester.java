@@ -0,0 +1,126 @@
+import java.util.function.IntConsumer;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose: This class is used to test the StripedHashMap class, including
+ * several threads counting into the same map at once.
+ */
+
+public class StripedHashMapTester {
+
+    private static final int THREADS = 4;
+
+    /**
+     * Runs the given task on THREADS threads at once, passing each its index,
+     * and waits for all of them to finish.
+     *
+     * @param task what each thread does with its index
+     */
+    private static void runThreads(IntConsumer task){
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++){
+            final int index = t;
+            threads[t] = new Thread(() -> task.accept(index));
+            threads[t].start();
+        }
+        for (Thread thread : threads){
+            try {
+                thread.join();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Testing put, get, remove and size on one thread
+     */
+    public static void test1(){
+        System.out.println("-".repeat(30) + "\nTest1: ");
+        StripedHashMap<Integer, String> map = new StripedHashMap<>(4, 0.75, 2);
+        for (int i = 0; i < 100; i++){
+            map.put( i, "" + i );
+        }
+        String oldValue = map.put( 7, "seven" );
+        String removed = map.remove( 50 );
+        System.out.println("For test 1: the following values should be equal: " );
+        System.out.println( "Size: " + map.size() + ", should be 99" );
+        System.out.println( "Put 7 again --- old value is " + oldValue + ", should be 7" );
+        System.out.println( "Get 7  --- value is " + map.get( 7 ) + ", should be seven" );
+        System.out.println( "Remove 50 --- value is " + removed + ", should be 50" );
+        System.out.println( "Contains 50: " + map.containsKey( 50 ) + ", should be false" );
+        System.out.println( "keySet size: " + map.keySet().size() + ", should be 99" );
+        System.out.println( "Capacity grew: " + (map.capacity() > 4) + ", should be true" );
+    }
+
+    /**
+     * Testing that threads merging the same keys lose no counts, across resizes
+     */
+    public static void test2(){
+        System.out.println("-".repeat(30) + "\nTest2: ");
+        StripedHashMap<Integer, Integer> map = new StripedHashMap<>(4, 0.75, 4);
+        // Every thread counts every key 100 times, so each count should be THREADS * 100
+        runThreads(t -> {
+            for (int round = 0; round < 100; round++){
+                for (int i = 0; i < 1000; i++){
+                    map.merge( i, 1, Integer::sum );
+                }
+            }
+        });
+        boolean exact = true;
+        for (int i = 0; i < 1000; i++){
+            exact = exact && map.get( i ) == THREADS * 100;
+        }
+        long total = 0;
+        for (int count : map.values()){
+            total += count;
+        }
+        System.out.println("For test 2: the following values should be equal: " );
+        System.out.println( "Size: " + map.size() + ", should be 1000" );
+        System.out.println( "Every count is " + (THREADS * 100) + ": " + exact + ", should be true" );
+        System.out.println( "Total count: " + total + ", should be " + (THREADS * 100 * 1000) );
+        System.out.println( "Capacity grew: " + (map.capacity() > 4) + ", should be true" );
+    }
+
+    /**
+     * Testing that threads adding and removing their own keys leave the right size
+     */
+    public static void test3(){
+        System.out.println("-".repeat(30) + "\nTest3: ");
+        StripedHashMap<Integer, Integer> map = new StripedHashMap<>(4, 0.75, 4);
+        // Thread t adds keys t, t + THREADS, ... below 20000, then removes the odd ones again
+        runThreads(t -> {
+            for (int i = t; i < 20000; i += THREADS){
+                map.put( i, i );
+            }
+            for (int i = t; i < 20000; i += THREADS){
+                if (i % 2 == 1){
+                    map.remove( i );
+                }
+            }
+        });
+        boolean evensKept = true;
+        boolean oddsGone = true;
+        for (int i = 0; i < 20000; i++){
+            if (i % 2 == 0){
+                evensKept = evensKept && map.get( i ) == i;
+            }
+            else {
+                oddsGone = oddsGone && !map.containsKey( i );
+            }
+        }
+        System.out.println("For test 3: the following values should be equal: " );
+        System.out.println( "Size: " + map.size() + ", should be 10000" );
+        System.out.println( "Every even key kept: " + evensKept + ", should be true" );
+        System.out.println( "Every odd key removed: " + oddsGone + ", should be true" );
+    }
+
+    public static void main(String[] args){
+        test1();
+        test2();
+        test3();
+    }
+
+}
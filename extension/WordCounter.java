@@ -3,31 +3,74 @@ file name:      WordCounter.java
 Authors:        Ike Lage
 last modified:  23/04/2025 (by Muneeb Azfar Nafees)
 
-How to run:     java WordCounter
+How to run:     java WordCounter [results.csv | results.json]
 */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.io.* ;
 
 
 public class WordCounter {
 
 	private MapSet<String, Integer> wordCounts ;
+	// the same map as wordCounts when it keeps primitive counts, otherwise null
+	private CounterMap<String> counter ;
+	private String dataStructure ;
 	private int wordCount ;
 
-	//constructor, where data_structure is either "bst" or "hashmap" or "hashmapext"
+	//constructor, where data_structure is either "bst" or "avl" or "splay" or "hashmap" or "hashmapext" or "robinhood" or "intcounter" or "arraylist" or "striped" or "lockfree" or "offheap" or "radix"
 	public WordCounter( String data_structure ) {
+		this.dataStructure = data_structure ;
+		wordCounts = newMap( data_structure ) ;
+		if ( wordCounts instanceof CounterMap ) {
+			counter = (CounterMap<String>) wordCounts ;
+		}
+	}
+
+	//return a new, empty map of the given data structure (any of the names accepted by the constructor).
+	public static MapSet<String, Integer> newMap( String data_structure ) {
 		if ( data_structure.equals( "BST" ) ) {
-			wordCounts = new BSTMap<String, Integer>() ;
+			return new BSTMap<String, Integer>() ;
 		} 
+		else if( data_structure.equals( "AVL" ) ) {
+			return new AVLMap<String, Integer>() ;
+		}
+		else if( data_structure.equals( "Splay" ) ) {
+			return new SplayMap<String, Integer>() ;
+		}
 		else if( data_structure.equals( "HashMap" ) ) {
-			wordCounts = new HashMap<String, Integer>() ;
+			return new HashMap<String, Integer>() ;
 		}
 		else if(data_structure.equals( "HashMapExt" ) ) {
-			wordCounts = new HashMapExt<String, Integer>() ;
+			return new HashMapExt<String, Integer>() ;
+		}
+		else if( data_structure.equals( "RobinHood" ) ) {
+			return new RobinHoodHashMap<String, Integer>() ;
+		}
+		else if( data_structure.equals( "IntCounter" ) ) {
+			return new IntCounterMap<String>() ;
+		}
+		else if( data_structure.equals( "ArrayList" ) ) {
+			return new ArrayListMap<String, Integer>() ;
+		}
+		else if( data_structure.equals( "Striped" ) ) {
+			return new StripedHashMap<String, Integer>() ;
+		}
+		else if( data_structure.equals( "LockFree" ) ) {
+			return new LockFreeCounterMap<String>() ;
+		}
+		else if( data_structure.equals( "OffHeap" ) ) {
+			return new OffHeapCounterMap() ;
+		}
+		else if( data_structure.equals( "Radix" ) ) {
+			return new RadixTreeMap<Integer>() ;
 		}
 		else {
 			assert false : "Invalid data structure" ;
+			return null ;
 		}
 	}
 
@@ -36,6 +79,29 @@ public class WordCounter {
 
 		ArrayList <String> words = new ArrayList<String>() ;
 
+		try {
+		  // memory-map the file and split its bytes on whitespace: no regex and no String per line
+		  WordReader.forEachWord( filename , words::add ) ;
+
+		  this.wordCount = words.size() ;
+
+		  return words ;
+		}
+		catch(FileNotFoundException ex) {
+		  System.out.println("WordCounter.readWords():: unable to open file " + filename );
+		}
+		catch(IOException ex) {
+		  System.out.println("WordCounter.readWords():: error reading file " + filename);
+		}
+
+		return null ;
+	}
+
+	//the original line-by-line reader: BufferedReader.readLine() and String.split() on every line. Kept for comparison.
+	public ArrayList<String> readWordsByLine( String filename ) {
+
+		ArrayList <String> words = new ArrayList<String>() ;
+
 		try {
 		  // assign to a variable of type FileReader a new FileReader object, passing filename to the constructor
 		  FileReader fr = new FileReader(filename);
@@ -73,22 +139,90 @@ public class WordCounter {
 	//given an ArrayList of words, put the words into the map data structure. Return the time taken in ms.
 	public double buildMap( ArrayList<String> words ) {
 
-		long startTime = System.currentTimeMillis() ;
-
-		for ( String word : words ) {
+		long startTime = System.nanoTime() ;
 
-			if ( this.wordCounts.containsKey( word ) ) {
-				this.wordCounts.put( word , this.wordCounts.get( word ) + 1 );
-			} else {
-				this.wordCounts.put( word , 1 );
+		if ( this.counter != null ) {
+			// primitive counts: no Integer is boxed for words already in the map
+			for ( String word : words ) {
+				this.counter.add( word , 1 );
+			}
+		} else {
+			for ( String word : words ) {
+				// locate or insert the word's entry in a single traversal of the map
+				this.wordCounts.merge( word , 1 , Integer::sum );
 			}
 		}
 
-		long totalTime = System.currentTimeMillis() - startTime ;
+		double totalTime = ( System.nanoTime() - startTime ) / 1e6 ;
 		return totalTime ;
 	}
 
-	//return the total word count from the last time readWords was called.
+	//given the filename of a text file, count its words straight into the map data structure without
+	//building a list of all the words, and add them to the total word count. Return the time taken in ms, or -1 if the file could not be read.
+	public double countFile( String filename ) {
+
+		long startTime = System.nanoTime() ;
+
+		try {
+		  // tokenize and count in the same pass; only the vocabulary is kept on the heap
+		  if ( this.wordCounts instanceof OffHeapCounterMap ) {
+		  	// count the bytes of each word without ever making it a String
+		  	OffHeapCounterMap offHeap = (OffHeapCounterMap) this.wordCounts ;
+		  	WordReader.forEachWordBytes( filename , ( bytes , length ) -> {
+		  		offHeap.increment( bytes , length ) ;
+		  		this.wordCount ++ ;
+		  	} ) ;
+		  } else if ( this.counter != null ) {
+		  	WordReader.forEachWord( filename , word -> {
+		  		this.counter.add( word , 1 ) ;
+		  		this.wordCount ++ ;
+		  	} ) ;
+		  } else {
+		  	WordReader.forEachWord( filename , word -> {
+		  		this.wordCounts.merge( word , 1 , Integer::sum ) ;
+		  		this.wordCount ++ ;
+		  	} ) ;
+		  }
+
+		  double totalTime = ( System.nanoTime() - startTime ) / 1e6 ;
+		  return totalTime ;
+		}
+		catch(FileNotFoundException ex) {
+		  System.out.println("WordCounter.countFile():: unable to open file " + filename );
+		}
+		catch(IOException ex) {
+		  System.out.println("WordCounter.countFile():: error reading file " + filename);
+		}
+
+		return -1 ;
+	}
+
+	//given the filename of a text file, count its words with the given number of threads. The file is split into
+	//newline-aligned chunks that are counted into thread-confined maps on a ForkJoinPool, and the partial maps are
+	//merged into the map data structure at the end. Return the time taken in ms, or -1 if the file could not be read.
+	public double countFileParallel( String filename , int threads ) {
+
+		long startTime = System.nanoTime() ;
+
+		try {
+		  long counted = ParallelCounter.countFile( filename , threads , () -> newMap( this.dataStructure ) , this.wordCounts ) ;
+		  // the total is an int like the rest of the word counts, so fail loudly rather than wrap around
+		  this.wordCount = Math.toIntExact( this.wordCount + counted ) ;
+
+		  double totalTime = ( System.nanoTime() - startTime ) / 1e6 ;
+		  return totalTime ;
+		}
+		catch(FileNotFoundException ex) {
+		  System.out.println("WordCounter.countFileParallel():: unable to open file " + filename );
+		}
+		catch(IOException ex) {
+		  System.out.println("WordCounter.countFileParallel():: error reading file " + filename);
+		}
+
+		return -1 ;
+	}
+
+	//return the total word count from the last time readWords was called, plus any words counted by countFile or countFileParallel.
 	public int totalWordCount() {
 		return this.wordCount ;
 	}
@@ -100,6 +234,9 @@ public class WordCounter {
 
 	//return the number of times the word occurred in the list of words.
 	public int getCount( String word ) {
+		if ( this.counter != null ) {
+			return this.counter.getCount( word ) ;
+		}
 		Integer count = this.wordCounts.get( word );
 		if ( count != null ) {
 			return count ;
@@ -125,10 +262,9 @@ public class WordCounter {
 		 	// assign to a variable of type FileReader a new FileReader object, passing filename to the constructor
 		 	FileWriter fw = new FileWriter(filename);
 			fw.write( Integer.toString( this.totalWordCount() ) + "\n" ) ;
-			ArrayList <String> keys = this.wordCounts.keySet() ;
-			ArrayList <Integer> values = this.wordCounts.values() ;
-			for ( int i = 0 ; i < keys.size() ; i ++  ) {
-				fw.write( keys.get( i ) + " - " + Integer.toString( values.get( i ) ) + "\n" );
+			// walk the map's entries directly instead of copying its keys and values into lists
+			for ( MapSet.KeyValuePair<String, Integer> entry : this.wordCounts ) {
+				fw.write( entry.getKey() + " - " + Integer.toString( entry.getValue() ) + "\n" );
 			}
 			fw.close() ;
 			return true ;
@@ -144,24 +280,62 @@ public class WordCounter {
 	}
 
     /**
-     * Returns the top 10 words in the wordCounts map.
+     * Returns the k most frequent words in the wordCounts map, most frequent first,
+     * with ties broken alphabetically. If the map holds fewer than k words, all of
+     * them are returned. Only a min-heap of the k best entries seen so far is kept,
+     * so this takes O(n log k) time and O(k) extra memory instead of sorting every word.
+     * @param k the number of words to return
+     * @return the top k words and their counts, most frequent first
+     */
+    public ArrayList<MapSet.KeyValuePair<String, Integer>> getTopK(int k){
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Orders entries from least to most frequent, so the heap's head is the first to be evicted
+        Comparator<MapSet.KeyValuePair<String, Integer>> byCount = (a, b) -> {
+            int cmp = a.getValue().compareTo(b.getValue());
+            return cmp != 0 ? cmp : b.getKey().compareTo(a.getKey());
+        };
+        PriorityQueue<MapSet.KeyValuePair<String, Integer>> heap = new PriorityQueue<>(Math.min(k, this.wordCounts.size()) + 1, byCount);
+
+        for (MapSet.KeyValuePair<String, Integer> keyValuePair : this.wordCounts) {
+            if (heap.size() < k) {
+                heap.add(keyValuePair);
+            }
+            else if (byCount.compare(keyValuePair, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(keyValuePair);
+            }
+        }
+
+        ArrayList<MapSet.KeyValuePair<String, Integer>> topK = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            topK.add(heap.poll());
+        }
+        Collections.reverse(topK);
+        return topK;
+    }
+
+    /**
+     * Returns the top 10 words in the wordCounts map, or every word if there are fewer than 10.
      * @return a string representation of the top 10 words and their counts.
      */
     public String getTop10Words(){
         StringBuilder sb = new StringBuilder();
 
-        // Sort the entry set by value in descending order
-        ArrayList<MapSet.KeyValuePair<String, Integer>> entrySet = this.wordCounts.entrySet();
-        entrySet.sort((a,b) -> b.getValue().compareTo(a.getValue()));
-        
-        for (int i = 0; i < 10; i++) {
-            MapSet.KeyValuePair<String, Integer> keyValuePair = entrySet.get(i);
+        for (MapSet.KeyValuePair<String, Integer> keyValuePair : getTopK(10)) {
             sb.append(keyValuePair.getKey()).append(": ").append(keyValuePair.getValue()).append("\n");
         }
 
         return sb.toString();
     }
 
+	//time buildMap on the given words with the harness, clearing the map before each run, and print the result.
+	private static void timeBuildMap( BenchmarkHarness harness , String label , WordCounter wc , ArrayList<String> words ) {
+		System.out.println( harness.run( label , words.size() , wc::clearMap , () -> wc.buildMap( words ) ) ) ;
+	}
+
 	public static void main( String[] args ) {
 		//Choose file for a specific year -- this is a sample for 2008
 		String filenameR = "CLEANED_reddit_comments_2015.txt" ;
@@ -178,37 +352,22 @@ public class WordCounter {
         ArrayList <String> wordsS = wcSHash.readWords( filenameS ) ;
 		
 
-        System.out.println("-".repeat(50)+"\nAverage time to build map\n");
+        System.out.println("-".repeat(50)+"\nTime to build map\n");
 
-        double timeRHashExt = 0.0;
-        double timeRHash = 0.0;
-        double timeSHashExt = 0.0;
-        double timeSHash = 0.0;
+		//Time building each map: 5 warm-up runs are discarded, then 20 runs are timed
+        BenchmarkHarness harness = new BenchmarkHarness( 5 , 20 ) ;
+        timeBuildMap( harness , "Reddit comments (HashMapExt)" , wcRHashExt , wordsR ) ;
+        timeBuildMap( harness , "Reddit comments (HashMap)" , wcRHash , wordsR ) ;
+        timeBuildMap( harness , "Shakespeare (HashMapExt)" , wcSHashExt , wordsS ) ;
+        timeBuildMap( harness , "Shakespeare (HashMap)" , wcSHash , wordsS ) ;
 
-		//Build the map 10 times and average the time
-        for(int i=0; i<10; i++){
-            timeRHashExt += wcRHashExt.buildMap(wordsR);
-            timeSHashExt += wcSHashExt.buildMap(wordsS);
-            timeRHash += wcRHash.buildMap(wordsR);
-            timeSHash += wcSHash.buildMap(wordsS);
-
-            wcRHash.clearMap();
-            wcSHash.clearMap();
-            wcRHashExt.clearMap();
-            wcSHashExt.clearMap();
+		//Write the results as CSV, or as JSON if the filename ends in .json
+        if ( args.length > 0 ) {
+            harness.write( args[0] ) ;
         }
 
-		//Print the average time taken to build the map
-        System.out.println("Average time for Reddit comments (HashMapEXT): " + (timeRHashExt/10) + " ms");
-        System.out.println("Average time for Reddit comments (HashMap): " + (timeRHash/10) + " ms");
-        System.out.println("Average time for Shakespeare (HashMapExt): " + (timeSHashExt/10) + " ms");
-        System.out.println("Average time for Shakespeare (HashMap): " + (timeSHash/10) + " ms");
-
         System.out.println("-".repeat(50)+"\nMax Depth for each structure\n");
-        wcRHashExt.buildMap(wordsR);
-        wcSHashExt.buildMap(wordsS);
-        wcRHash.buildMap(wordsR);
-        wcSHash.buildMap(wordsS);
+		//Each map still holds the words from its last timed run
 
 		//Print the max depth of each structure
         System.out.println("Max depth for Reddit comments (HashMapExt): " + wcRHashExt.wordCounts.maxDepth());
@@ -0,0 +1,137 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To split a text file into words without regular expressions
+ * or line Strings. The file is memory-mapped and its bytes are scanned directly
+ * for whitespace; only the words themselves are turned into Strings, and
+ * forEachWordBytes does not even do that. Words are separated by any run of
+ * ASCII whitespace (see isWhitespace), so unlike the old line reader, which
+ * split on spaces, tabs separate words and no empty words are produced.
+ */
+
+public class WordReader {
+
+    /**
+     * What to do with the UTF-8 bytes of one word.
+     */
+    public interface WordBytesConsumer {
+
+        /**
+         * Accepts the bytes of one word. The array is reused for the next word,
+         * so it must be copied if it is kept.
+         *
+         * @param bytes  the array holding the word in its first length bytes
+         * @param length the number of bytes in the word
+         */
+        public void accept(byte[] bytes, int length);
+    }
+
+    // Largest region of the file mapped at once (a single mapping is limited to 2 GB)
+    private static final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * Passes every whitespace-separated word of the given file, in order, to the action.
+     *
+     * @param filename the name of the file to be read
+     * @param action   what to do with each word
+     * @throws java.io.FileNotFoundException if the file cannot be opened
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachWord(String filename, Consumer<String> action) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+            forEachWord(channel, 0, channel.size(), action);
+        }
+    }
+
+    /**
+     * Passes every whitespace-separated word between two byte positions of a file,
+     * in order, to the action. A word that runs past the end position is cut there,
+     * so callers splitting a file into ranges should end each range on whitespace.
+     *
+     * @param channel the channel of the file to be read
+     * @param start   the position of the first byte to be read
+     * @param end     the position just past the last byte to be read
+     * @param action  what to do with each word
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachWord(FileChannel channel, long start, long end, Consumer<String> action) throws IOException {
+        forEachWordBytes(channel, start, end, (bytes, length) -> action.accept(new String(bytes, 0, length, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Passes the UTF-8 bytes of every whitespace-separated word of the given file,
+     * in order, to the action, without creating a String for any word.
+     *
+     * @param filename the name of the file to be read
+     * @param action   what to do with the bytes of each word
+     * @throws java.io.FileNotFoundException if the file cannot be opened
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachWordBytes(String filename, WordBytesConsumer action) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(filename, "r");
+             FileChannel channel = file.getChannel()) {
+            forEachWordBytes(channel, 0, channel.size(), action);
+        }
+    }
+
+    /**
+     * Passes the UTF-8 bytes of every whitespace-separated word between two byte
+     * positions of a file, in order, to the action. A word that runs past the end
+     * position is cut there.
+     *
+     * @param channel the channel of the file to be read
+     * @param start   the position of the first byte to be read
+     * @param end     the position just past the last byte to be read
+     * @param action  what to do with the bytes of each word
+     * @throws IOException if the file cannot be read
+     */
+    public static void forEachWordBytes(FileChannel channel, long start, long end, WordBytesConsumer action) throws IOException {
+        byte[] word = new byte[64];
+        int length = 0;
+
+        for (long position = start; position < end; position += WINDOW_SIZE) {
+            int windowSize = (int) Math.min(WINDOW_SIZE, end - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+            for (int i = 0; i < windowSize; i++) {
+                byte b = window.get(i);
+                if (isWhitespace(b)) {
+                    if (length > 0) {
+                        action.accept(word, length);
+                        length = 0;
+                    }
+                }
+                else {
+                    if (length == word.length) {
+                        word = Arrays.copyOf(word, length * 2);
+                    }
+                    word[length++] = b;
+                }
+            }
+        }
+
+        if (length > 0) {
+            action.accept(word, length);
+        }
+    }
+
+    /**
+     * Returns whether the given byte is an ASCII whitespace character.
+     * Bytes of multi-byte UTF-8 characters are never whitespace.
+     *
+     * @param b the byte to be checked
+     * @return true if b is a space, tab, line feed, vertical tab, form feed or carriage return
+     */
+    public static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+}
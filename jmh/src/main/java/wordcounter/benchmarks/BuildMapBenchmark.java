@@ -0,0 +1,64 @@
+package wordcounter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import wordcounter.WordCounter;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To measure WordCounter.buildMap from an empty map, for each
+ * MapSet implementation, on a stream of WORDS_PER_KEY words per vocabulary word
+ * drawn from the chosen distribution. The score is the time to count the whole stream.
+ *
+ * How to run:     java -jar target/benchmarks.jar BuildMapBenchmark -rf json -rff results.json
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildMapBenchmark {
+
+    private static final int WORDS_PER_KEY = 10;
+
+    // WordCounter names of BSTMap, HashMap, HashMapExt and ArrayListMap
+    @Param({"BST", "HashMap", "HashMapExt", "ArrayList"})
+    public String implementation;
+
+    @Param({"1000", "10000"})
+    public int vocabularySize;
+
+    @Param({"uniform", "zipf"})
+    public String distribution;
+
+    private ArrayList<String> words;
+
+    @Setup
+    public void setup(){
+        String[] vocabulary = Workload.vocabulary(vocabularySize);
+        words = Workload.sample(vocabulary, distribution, vocabularySize * WORDS_PER_KEY, 2);
+    }
+
+    @Benchmark
+    public WordCounter buildMap(){
+        WordCounter wc = new WordCounter(implementation);
+        wc.buildMap(words);
+        return wc;
+    }
+}
@@ -0,0 +1,108 @@
+package wordcounter.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import wordcounter.MapSet;
+import wordcounter.WordCounter;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To measure the single-key operations and keySet of each
+ * MapSet implementation. The map holds the whole vocabulary before every
+ * measurement, and each invocation runs one operation on each of OPERATIONS
+ * keys drawn from the chosen distribution, so the scores are in ns per operation.
+ *
+ * How to run:     java -jar target/benchmarks.jar MapSetBenchmark -rf json -rff results.json
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapSetBenchmark {
+
+    private static final int OPERATIONS = 1024;
+
+    // WordCounter names of BSTMap, HashMap, HashMapExt and ArrayListMap
+    @Param({"BST", "HashMap", "HashMapExt", "ArrayList"})
+    public String implementation;
+
+    @Param({"1000", "10000"})
+    public int vocabularySize;
+
+    @Param({"uniform", "zipf"})
+    public String distribution;
+
+    private MapSet<String, Integer> map;
+    private String[] keys;
+
+    @Setup
+    public void setup(){
+        String[] vocabulary = Workload.vocabulary(vocabularySize);
+        map = WordCounter.newMap(implementation);
+        for (int i = 0; i < vocabulary.length; i++){
+            map.put(vocabulary[i], i);
+        }
+        keys = Workload.sample(vocabulary, distribution, OPERATIONS, 1).toArray(new String[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void put(){
+        // Every key is already present, so the map's size does not change between invocations
+        for (int i = 0; i < keys.length; i++){
+            map.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void get(Blackhole bh){
+        for (String key : keys){
+            bh.consume(map.get(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void containsKey(Blackhole bh){
+        for (String key : keys){
+            bh.consume(map.containsKey(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void remove(Blackhole bh){
+        // Each removed key is put back, so the map holds the whole vocabulary for the next removal
+        for (int i = 0; i < keys.length; i++){
+            Integer value = map.remove(keys[i]);
+            if (value != null){
+                map.put(keys[i], value);
+            }
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public Object keySet(){
+        return map.keySet();
+    }
+}
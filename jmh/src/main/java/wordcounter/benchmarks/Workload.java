@@ -0,0 +1,90 @@
+package wordcounter.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To generate the synthetic vocabularies and word streams the
+ * benchmarks run on. Every workload is built from a fixed seed, so each
+ * implementation and each run sees exactly the same keys in the same order.
+ */
+
+public class Workload {
+
+    private static final long SEED = 231L;
+
+    /**
+     * Returns the given number of distinct lower-case words of 2 to 12 letters,
+     * in random order.
+     *
+     * @param size the number of words
+     * @return the vocabulary
+     */
+    public static String[] vocabulary(int size){
+        Random random = new Random(SEED);
+        HashSet<String> seen = new HashSet<>();
+        String[] words = new String[size];
+        int n = 0;
+        while (n < size){
+            int length = 2 + random.nextInt(11);
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < length; i++){
+                sb.append((char) ('a' + random.nextInt(26)));
+            }
+            String word = sb.toString();
+            if (seen.add(word)){
+                words[n++] = word;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns count words drawn from the vocabulary. With the "uniform"
+     * distribution every word is equally likely; with "zipf" the i-th word of
+     * the vocabulary is drawn with probability proportional to 1/i, as word
+     * frequencies in natural text roughly are.
+     *
+     * @param vocabulary   the words to draw from
+     * @param distribution "uniform" or "zipf"
+     * @param count        the number of words to draw
+     * @param seedOffset   added to the seed, so different streams can be drawn
+     * @return the drawn words
+     */
+    public static ArrayList<String> sample(String[] vocabulary, String distribution, int count, long seedOffset){
+        Random random = new Random(SEED + seedOffset);
+        ArrayList<String> words = new ArrayList<>(count);
+
+        if (distribution.equals("uniform")){
+            for (int i = 0; i < count; i++){
+                words.add(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+        }
+        else if (distribution.equals("zipf")){
+            double[] cumulative = new double[vocabulary.length];
+            double total = 0.0;
+            for (int i = 0; i < vocabulary.length; i++){
+                total += 1.0 / (i + 1);
+                cumulative[i] = total;
+            }
+            for (int i = 0; i < count; i++){
+                double target = random.nextDouble() * total;
+                int lo = 0;
+                int hi = vocabulary.length - 1;
+                while (lo < hi){
+                    int mid = (lo + hi) >>> 1;
+                    if (cumulative[mid] < target) lo = mid + 1;
+                    else hi = mid;
+                }
+                words.add(vocabulary[lo]);
+            }
+        }
+        else {
+            throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+        return words;
+    }
+}
@@ -1,10 +1,19 @@
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 /**
  * Author: Muneeb Azfar Nafees
  * 
- * Purpose of class: To implement a Binary Search Tree Map.
+ * Purpose of class: To implement a Binary Search Tree Map. Each node also keeps
+ * the size of its subtree, so keys can be ranked, selected by position and counted
+ * by range without building a list.
  */
 
 public class BSTMap<K, V> implements MapSet<K, V>{
@@ -19,6 +28,8 @@ public class BSTMap<K, V> implements MapSet<K, V>{
     private static class Node<K, V> extends KeyValuePair<K, V>{
         private Node<K, V> left;
         private Node<K, V> right;
+        // Number of nodes in the subtree rooted at this node, including itself
+        private int count;
 
         /**
          * Constructor for the Node class.
@@ -29,6 +40,7 @@ public class BSTMap<K, V> implements MapSet<K, V>{
             super(k, v);
             left = null;
             right = null;
+            count = 1;
         }
     }
 
@@ -63,19 +75,229 @@ public class BSTMap<K, V> implements MapSet<K, V>{
     }
 
     /**
-     * Helper method to print the BSTMap in a readable format.
+     * Returns a new BSTMap holding the given entries, built as a balanced tree in
+     * O(n) time. The middle entry of each range becomes the root of that range's
+     * subtree, so the depth is ceil(log2(n+1)).
      * 
-     * @param cur the current node
-     * @param curDepth the current depth of the node
-     * @param sb the StringBuilder to append the string to
+     * @param entries    the entries, in strictly increasing key order
+     * @param comparator the comparator to be used for sorting the keys, or null for natural ordering
+     * @return a balanced BSTMap holding a copy of each entry
+     * @throws IllegalArgumentException if the keys are not in strictly increasing order
      */
-    private void toString(Node<K, V> cur, int curDepth, StringBuilder sb) {
-        if (cur == null)
-            return;
-    
-        toString(cur.right, curDepth + 1, sb);
-        sb.append("\t".repeat(curDepth) + cur + "\n");
-        toString(cur.left, curDepth + 1, sb);
+    public static <K, V> BSTMap<K, V> fromSorted(List<? extends KeyValuePair<K, V>> entries, Comparator<K> comparator){
+        BSTMap<K, V> map = new BSTMap<>(comparator);
+        // Copy into an ArrayList only if the entries cannot be indexed in O(1)
+        List<? extends KeyValuePair<K, V>> sorted = entries instanceof RandomAccess ? entries : new ArrayList<>(entries);
+        for (int i = 1; i < sorted.size(); i++){
+            if (map.comparator.compare(sorted.get(i - 1).getKey(), sorted.get(i).getKey()) >= 0){
+                throw new IllegalArgumentException("Keys are not in strictly increasing order at index " + i);
+            }
+        }
+        map.root = buildBalanced(sorted, 0, sorted.size() - 1);
+        map.size = sorted.size();
+        return map;
+    }
+
+    /**
+     * Returns a new BSTMap holding the given entries, built as a balanced tree in
+     * O(n) time, with the keys in their natural ordering.
+     * 
+     * @param entries the entries, in strictly increasing key order
+     * @return a balanced BSTMap holding a copy of each entry
+     * @throws IllegalArgumentException if the keys are not in strictly increasing order
+     */
+    public static <K, V> BSTMap<K, V> fromSorted(List<? extends KeyValuePair<K, V>> entries){
+        return fromSorted(entries, null);
+    }
+
+    /**
+     * Helper method to build a balanced subtree from a range of sorted entries.
+     * The recursion is only as deep as the balanced tree it builds.
+     * 
+     * @param sorted the entries in key order
+     * @param lo     the index of the first entry of the range
+     * @param hi     the index of the last entry of the range
+     * @return the root of the subtree, or null if the range is empty
+     */
+    private static <K, V> Node<K, V> buildBalanced(List<? extends KeyValuePair<K, V>> sorted, int lo, int hi){
+        if (lo > hi) return null;
+        int mid = (lo + hi + 1) >>> 1;
+        KeyValuePair<K, V> entry = sorted.get(mid);
+        Node<K, V> node = new Node<>(entry.getKey(), entry.getValue());
+        node.left = buildBalanced(sorted, lo, mid - 1);
+        node.right = buildBalanced(sorted, mid + 1, hi);
+        node.count = hi - lo + 1;
+        return node;
+    }
+
+    /**
+     * Reshapes the tree in place into a balanced tree of depth ceil(log2(n+1)), using
+     * the Day-Stout-Warren algorithm: rotations first straighten the tree into a
+     * right-leaning chain in key order (the "vine"), then repeated passes of left
+     * rotations fold the vine in half until it is balanced. Runs in O(n) time with
+     * O(1) extra space, and keeps every node. Subtree counts are updated by each rotation.
+     */
+    public void rebalance(){
+        Node<K, V> pseudoRoot = new Node<>(null, null);
+        pseudoRoot.right = root;
+
+        // Tree to vine: rotate every left child up until no node has one
+        Node<K, V> tail = pseudoRoot;
+        Node<K, V> rest = tail.right;
+        while (rest != null){
+            if (rest.left == null){
+                tail = rest;
+                rest = rest.right;
+            }
+            else {
+                Node<K, V> leftChild = rest.left;
+                rest.left = leftChild.right;
+                leftChild.right = rest;
+                rest.count = 1 + count(rest.left) + count(rest.right);
+                leftChild.count = 1 + count(leftChild.left) + rest.count;
+                rest = leftChild;
+                tail.right = leftChild;
+            }
+        }
+
+        // Vine to tree: first fill the partial bottom level, then halve the vine until it is balanced
+        int leaves = size + 1 - Integer.highestOneBit(size + 1);
+        compress(pseudoRoot, leaves);
+        int remaining = size - leaves;
+        while (remaining > 1){
+            remaining /= 2;
+            compress(pseudoRoot, remaining);
+        }
+
+        root = pseudoRoot.right;
+    }
+
+    /**
+     * Helper method for rebalance that left-rotates every other node down the right
+     * spine below the given node, count times.
+     * 
+     * @param pseudoRoot the node above the spine
+     * @param count      the number of rotations
+     */
+    private void compress(Node<K, V> pseudoRoot, int count){
+        Node<K, V> scanner = pseudoRoot;
+        for (int i = 0; i < count; i++){
+            Node<K, V> child = scanner.right;
+            scanner.right = child.right;
+            scanner = scanner.right;
+            child.right = scanner.left;
+            scanner.left = child;
+            child.count = 1 + count(child.left) + count(child.right);
+            scanner.count = 1 + child.count + count(scanner.right);
+        }
+    }
+
+    /**
+     * Iterates over the nodes of the BSTMap in key order, keeping the path to the
+     * next node on an explicit stack instead of the call stack, so that a tree of
+     * any depth can be walked.
+     */
+    private class NodeIterator implements Iterator<Node<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+        /**
+         * Constructor for the NodeIterator class.
+         * Pushes the path from the root to the smallest key.
+         */
+        NodeIterator() {
+            pushLeft(root);
+        }
+
+        /**
+         * Constructor for the NodeIterator class.
+         * Pushes the path from the root to the smallest key that is not less than
+         * fromKey, skipping every subtree that holds only smaller keys, in O(depth).
+         *
+         * @param fromKey the lowest key to be visited
+         */
+        NodeIterator(K fromKey) {
+            Node<K, V> cur = root;
+            while (cur != null) {
+                if (comparator.compare(cur.getKey(), fromKey) >= 0) {
+                    stack.push(cur);
+                    cur = cur.left;
+                }
+                else {
+                    cur = cur.right;
+                }
+            }
+        }
+
+        /**
+         * Pushes the given node and its chain of left children.
+         *
+         * @param cur the node to start from
+         */
+        private void pushLeft(Node<K, V> cur) {
+            while (cur != null) {
+                stack.push(cur);
+                cur = cur.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public Node<K, V> next() {
+            if (stack.isEmpty()) throw new NoSuchElementException();
+            Node<K, V> cur = stack.pop();
+            pushLeft(cur.right);
+            return cur;
+        }
+    }
+
+    /**
+     * Iterates in key order over the nodes from a starting point for as long as
+     * their keys pass a test, stopping at the first key that fails it. Only the
+     * nodes it returns and the path down to the first one are visited.
+     */
+    private class RangeIterator implements Iterator<KeyValuePair<K, V>> {
+        private final NodeIterator nodes;
+        private final Predicate<K> inRange;
+        private Node<K, V> next;
+
+        /**
+         * Constructor for the RangeIterator class.
+         *
+         * @param fromKey the lowest key to be visited, or null to start at the smallest key
+         * @param inRange the test each key must pass; iteration ends at the first key that fails it
+         */
+        RangeIterator(K fromKey, Predicate<K> inRange) {
+            this.nodes = fromKey == null ? new NodeIterator() : new NodeIterator(fromKey);
+            this.inRange = inRange;
+            advance();
+        }
+
+        /**
+         * Moves next to the following node in range, or to null if there is none.
+         */
+        private void advance() {
+            next = nodes.hasNext() ? nodes.next() : null;
+            if (next != null && !inRange.test(next.getKey())) {
+                next = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public KeyValuePair<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            Node<K, V> cur = next;
+            advance();
+            return cur;
+        }
     }
 
     /**
@@ -86,7 +308,25 @@ public class BSTMap<K, V> implements MapSet<K, V>{
     public String toString() {
         if (size() == 0) return "(empty BST)";
         StringBuilder sb = new StringBuilder();
-        toString(this.root, 0, sb);
+
+        // Reverse in-order walk (right subtree, node, left subtree), so the tree reads sideways
+        ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        ArrayDeque<Integer> depths = new ArrayDeque<>();
+        Node<K, V> cur = this.root;
+        int curDepth = 0;
+        while (cur != null || !stack.isEmpty()) {
+            while (cur != null) {
+                stack.push(cur);
+                depths.push(curDepth);
+                cur = cur.right;
+                curDepth++;
+            }
+            cur = stack.pop();
+            curDepth = depths.pop();
+            sb.append("\t".repeat(curDepth) + cur + "\n");
+            cur = cur.left;
+            curDepth++;
+        }
         return sb.toString();
     }
 
@@ -120,50 +360,22 @@ public class BSTMap<K, V> implements MapSet<K, V>{
      *         null if there was no mapping for key.
      */
     public V put(K key, V value){
-        if (root == null) {
-            root = new Node<>(key, value);
-            size++;
-            return null;
-        }
-        else{
-            return put(key, value, root);
-        }
-    }
-
-    /**
-     * Helper method to put a key-value pair in the BSTMap.
-     * 
-     * @param key   the key to be added
-     * @param value the value to be added
-     * @param cur   the current node
-     * @return      the previous value associated with the key, or null if there was no mapping for the key
-     */
-    private V put(K key, V value, Node<K, V> cur) {
-        if (comparator.compare(key, cur.getKey()) < 0){
-            if (cur.left != null){
-                return put(key, value, cur.left);
-            } 
-            else {
-                cur.left = new Node<>(key, value);
-                size++;
-                return null;
-            }
-        } 
-        else if (comparator.compare(key, cur.getKey()) > 0){
-            if (cur.right != null){
-                return put(key, value, cur.right);
-            } 
-            else {
-                cur.right = new Node<>(key, value);
-                size++;
-                return null;
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0){
+                V oldValue = cur.getValue();
+                cur.setValue(value);
+                return oldValue;
             }
-        } 
-        else {
-            V oldValue = cur.getValue();
-            cur.setValue(value);
-            return oldValue;
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
         }
+
+        attach(parent, cmp, new Node<>(key, value));
+        return null;
     }
 
     /**
@@ -175,29 +387,9 @@ public class BSTMap<K, V> implements MapSet<K, V>{
      *         key to a value.
      */
     public boolean containsKey(K key){
-        return containsKey(key, root);
+        return findNode(key) != null;
     }
 
-    /**
-     * Helper method to check if the BSTMap contains a key.
-     * 
-     * @param key  the key to be checked
-     * @param curr the current node
-     * @return true if the key is found, false otherwise
-     */
-    private boolean containsKey(K key, Node<K,V> curr){
-        if (curr == null) return false;
-        if (comparator.compare(key, curr.getKey()) < 0){
-            return containsKey(key, curr.left);
-        } 
-        else if (comparator.compare(key, curr.getKey()) > 0){
-            return containsKey(key, curr.right);
-        } 
-        else {
-            return true;
-        }
-    } 
-
     /**
      * Returns the value to which the specified key is mapped,
      * or {@code null} if this map contains no mapping for the key.
@@ -207,36 +399,158 @@ public class BSTMap<K, V> implements MapSet<K, V>{
      *         {@code null} if this map contains no mapping for the key
      */
     public V get(K key){
-        return get(key, root);
+        Node<K, V> node = findNode(key);
+        return node == null ? null : node.getValue();
     }
 
     /**
-     * Helper method to get a value from the BSTMap using the given key.
+     * Helper method to find the node holding the given key.
      * 
-     * @param key   the key to be searched
-     * @param cur   the current node
-     * @return      the value associated with the key, or null if the key is not found
-     */
-    private V get(K key, Node<K, V> cur) {
-        if (comparator.compare(key, cur.getKey()) < 0){
-            if (cur.left != null){
-                return get(key, cur.left);
-            } 
-            else {
-                return null;
-            }
-        } 
-        else if (comparator.compare(key, cur.getKey()) > 0){
-            if (cur.right != null){
-                return get(key, cur.right);
-            } 
-            else {
-                return null;
+     * @param key the key to be searched
+     * @return the node holding the key, or null if the key is not found
+     */
+    private Node<K, V> findNode(K key){
+        Node<K, V> cur = root;
+        while (cur != null){
+            int cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0) return cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        return null;
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null.
+     * The node is located (or inserted) in a single walk down the tree.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0) break;
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+
+        if (cur == null){
+            attach(parent, cmp, new Node<>(key, value));
+            return value;
+        }
+
+        V oldValue = cur.getValue();
+        V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (newValue == null){
+            removeNode(cur, parent);
+        }
+        else {
+            cur.setValue(newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent).
+     * The node is located (or inserted) in a single walk down the tree.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        Node<K, V> parent = null;
+        Node<K, V> cur = root;
+        int cmp = 0;
+        while (cur != null){
+            cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0) break;
+            parent = cur;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+
+        V newValue = remappingFunction.apply(key, cur == null ? null : cur.getValue());
+        if (cur == null){
+            if (newValue != null){
+                attach(parent, cmp, new Node<>(key, newValue));
             }
-        } 
+        }
+        else if (newValue == null){
+            removeNode(cur, parent);
+        }
         else {
-            return cur.getValue();
+            cur.setValue(newValue);
         }
+        return newValue;
+    }
+
+    /**
+     * Helper method to link a new node below the given parent.
+     *
+     * @param parent the node the new node hangs from, or null if the tree is empty
+     * @param cmp    the result of comparing the new key with the parent's key
+     * @param node   the node to be linked in
+     */
+    private void attach(Node<K, V> parent, int cmp, Node<K, V> node){
+        if (parent == null){
+            root = node;
+        }
+        else if (cmp < 0){
+            parent.left = node;
+        }
+        else {
+            parent.right = node;
+        }
+        size++;
+        adjustCounts(node.getKey(), 1);
+    }
+
+    /**
+     * Helper method to unlink a node from the tree and update the size and subtree counts.
+     *
+     * @param node   the node to be removed
+     * @param parent the parent of the node, or null if it is the root
+     */
+    private void removeNode(Node<K, V> node, Node<K, V> parent){
+        adjustCounts(node.getKey(), -1);
+        handleReplacement(node, parent);
+        size--;
+    }
+
+    /**
+     * Helper method to add delta to the subtree count of every node above the node
+     * holding the given key, walking down from the root.
+     *
+     * @param key   the key of a node in the tree
+     * @param delta the amount to add to each count
+     */
+    private void adjustCounts(K key, int delta){
+        Node<K, V> cur = root;
+        while (cur != null){
+            int cmp = comparator.compare(key, cur.getKey());
+            if (cmp == 0) return;
+            cur.count += delta;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+    }
+
+    /**
+     * Helper method to get the number of nodes in a subtree.
+     *
+     * @param node the root of the subtree, or null
+     * @return the number of nodes in the subtree
+     */
+    private static int count(Node<?, ?> node){
+        return node == null ? 0 : node.count;
     }
 
     /**
@@ -254,28 +568,25 @@ public class BSTMap<K, V> implements MapSet<K, V>{
         Node<K, V> toDelete = root;
         Node<K, V> parent = null;
 
-        while (toDelete != null && comparator.compare(key, toDelete.getKey()) != 0){
+        while (toDelete != null){
+            int cmp = comparator.compare(key, toDelete.getKey());
+            if (cmp == 0) break;
             parent = toDelete;
-            if (comparator.compare(key, toDelete.getKey()) < 0){
-                toDelete = toDelete.left;
-            } 
-            else {
-                toDelete = toDelete.right;
-            }
+            toDelete = cmp < 0 ? toDelete.left : toDelete.right;
         }
 
         if (toDelete == null) return null; // key not found
 
 
         V oldValue = toDelete.getValue();
-        handleReplacement(toDelete, parent);
-        size--;
+        removeNode(toDelete, parent);
         return oldValue;
     }
 
     /**
      * Helper method to handle the replacement of a node in the BSTMap.
-     * Uses a recursive call to remove the in‐order successor when the node has two children.
+     * Uses a recursive call to remove the in-order successor when the node has two children;
+     * the successor has no left child, so the recursion is never more than one level deep.
      * 
      * @param toDelete       the node to be deleted
      * @param toDeleteParent the parent of the node to be deleted
@@ -293,9 +604,11 @@ public class BSTMap<K, V> implements MapSet<K, V>{
             replacement = toDelete.left;
         } else {
             // Find the in-order successor (smallest node in the right subtree) and track its parent.
+            // Every node passed on the way loses the successor from its subtree.
             Node<K,V> successorParent = toDelete;
             Node<K,V> successor = toDelete.right;
             while (successor.left != null) {
+                successor.count--;
                 successorParent = successor;
                 successor = successor.left;
             }
@@ -309,6 +622,8 @@ public class BSTMap<K, V> implements MapSet<K, V>{
             if (toDelete.right != successor) {
                 replacement.right = toDelete.right;
             }
+            // The successor now roots what is left of the deleted node's subtree.
+            replacement.count = toDelete.count - 1;
         }
         // Update parent's pointer.
         if (toDeleteParent == null) {
@@ -321,27 +636,153 @@ public class BSTMap<K, V> implements MapSet<K, V>{
     }
 
     /**
-     * Returns an ArrayList of all the keys in the map.
+     * Returns the number of keys in the map that are less than the given key, which
+     * is the key's 0-based position in keySet() if it is in the map. Runs in O(depth).
      * 
-     * @return an ArrayList of all the keys in the map.
+     * @param key the key to be ranked; it does not have to be in the map
+     * @return the number of keys less than key
      */
-    public ArrayList<K> keySet(){
-        ArrayList<K> keys  = new ArrayList<>();
-        return keySet(root, keys);
+    public int rank(K key){
+        return countBelow(key, false);
     }
 
     /**
-     * Helper method to get all the keys in sorted order from the BSTMap.
+     * Returns the key at the given 0-based position in key order, the same key as
+     * keySet().get(index) but without building the list. Runs in O(depth).
      * 
-     * @param keys the ArrayList to store the keys
-     * @param cur  the current node
-     * @return the ArrayList of keys
-     */
-    private ArrayList<K> keySet(Node<K, V> cur, ArrayList<K> keys){
-        if (cur == null) return keys;
-        keySet(cur.left, keys);
-        keys.add(cur.getKey());
-        keySet(cur.right, keys);
+     * @param index the position of the key
+     * @return the key at that position
+     * @throws IndexOutOfBoundsException if index is negative or not less than size()
+     */
+    public K select(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Node<K, V> cur = root;
+        while (true){
+            int leftCount = count(cur.left);
+            if (index < leftCount){
+                cur = cur.left;
+            }
+            else if (index > leftCount){
+                index -= leftCount + 1;
+                cur = cur.right;
+            }
+            else {
+                return cur.getKey();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys k in the map with lo <= k <= hi. Neither bound
+     * has to be in the map. Runs in O(depth).
+     * 
+     * @param lo the lowest key to be counted
+     * @param hi the highest key to be counted
+     * @return the number of keys between lo and hi, inclusive, or 0 if lo is greater than hi
+     */
+    public int countInRange(K lo, K hi){
+        if (comparator.compare(lo, hi) > 0) return 0;
+        return countBelow(hi, true) - countBelow(lo, false);
+    }
+
+    /**
+     * Helper method to count the keys less than (or, if inclusive, equal to) the given key.
+     * 
+     * @param key       the key to compare against
+     * @param inclusive whether a key equal to key is counted
+     * @return the number of keys below key
+     */
+    private int countBelow(K key, boolean inclusive){
+        int below = 0;
+        Node<K, V> cur = root;
+        while (cur != null){
+            int cmp = comparator.compare(key, cur.getKey());
+            if (cmp < 0){
+                cur = cur.left;
+            }
+            else if (cmp > 0){
+                below += count(cur.left) + 1;
+                cur = cur.right;
+            }
+            else {
+                return below + count(cur.left) + (inclusive ? 1 : 0);
+            }
+        }
+        return below;
+    }
+
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in key order.
+     * The pairs are the map's own nodes, reached through an explicit stack as the
+     * iterator goes, so nothing is copied.
+     * 
+     * @return an iterator over each {@code KeyValuePair} in the map, in key order
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return new RangeIterator(null, key -> true);
+    }
+
+    /**
+     * Returns the entries with keys from fromKey (inclusive) to toKey (exclusive), in
+     * key order. Nothing is copied: each iterator walks the tree lazily, visiting only
+     * the path to fromKey and the entries it returns, in O(depth + results) time.
+     * The entries are the map's own nodes, and the map must not be changed while
+     * an iterator is in use.
+     * 
+     * @param fromKey the lowest key to be included
+     * @param toKey   the key above the highest key to be included
+     * @return the entries in the range, in key order
+     */
+    public Iterable<KeyValuePair<K, V>> subMap(K fromKey, K toKey){
+        return () -> new RangeIterator(fromKey, key -> comparator.compare(key, toKey) < 0);
+    }
+
+    /**
+     * Returns the entries with keys less than toKey, in key order, lazily as subMap does.
+     * 
+     * @param toKey the key above the highest key to be included
+     * @return the entries with keys less than toKey, in key order
+     */
+    public Iterable<KeyValuePair<K, V>> headMap(K toKey){
+        return () -> new RangeIterator(null, key -> comparator.compare(key, toKey) < 0);
+    }
+
+    /**
+     * Returns the entries with keys from fromKey (inclusive) upwards, in key order,
+     * lazily as subMap does.
+     * 
+     * @param fromKey the lowest key to be included
+     * @return the entries with keys not less than fromKey, in key order
+     */
+    public Iterable<KeyValuePair<K, V>> tailMap(K fromKey){
+        return () -> new RangeIterator(fromKey, key -> true);
+    }
+
+    /**
+     * Returns the entries whose keys start with the given prefix, in key order,
+     * lazily as subMap does. The keys must be Strings in their natural ordering,
+     * where all the keys with a prefix sit next to each other, starting at the prefix.
+     * 
+     * @param prefix the prefix of the keys to be included
+     * @return the entries whose keys start with prefix, in key order
+     */
+    public Iterable<KeyValuePair<K, V>> prefixScan(String prefix){
+        return () -> new RangeIterator((K) prefix, key -> ((String) key).startsWith(prefix));
+    }
+
+    /**
+     * Returns an ArrayList of all the keys in the map.
+     * 
+     * @return an ArrayList of all the keys in the map.
+     */
+    public ArrayList<K> keySet(){
+        ArrayList<K> keys  = new ArrayList<>(size);
+        NodeIterator it = new NodeIterator();
+        while (it.hasNext()){
+            keys.add(it.next().getKey());
+        }
         return keys;
     }
 
@@ -353,26 +794,27 @@ public class BSTMap<K, V> implements MapSet<K, V>{
      *         keys as returned by keySet().
      */
     public ArrayList<V> values(){
-        ArrayList<V> values = new ArrayList<>();
-        ArrayList<K> keys = keySet();
-        for (K key : keys){
-            values.add(get(key));
+        ArrayList<V> values = new ArrayList<>(size);
+        NodeIterator it = new NodeIterator();
+        while (it.hasNext()){
+            values.add(it.next().getValue());
         }
         return values;
     }
 
     /**
      * Returns an ArrayList of each {@code KeyValuePair} in the map in the same
-     * order as the keys as returned by keySet().
+     * order as the keys as returned by keySet(). The pairs are the map's own
+     * nodes, collected in one in-order pass, so setting a pair's value updates the map.
      * 
      * @return an ArrayList of each {@code KeyValuePair} in the map in the same
      *         order as the keys as returned by keySet().
      */
     public ArrayList<KeyValuePair<K, V>> entrySet(){
-        ArrayList<KeyValuePair<K,V>> keyValuePairs = new ArrayList<>();
-        ArrayList<K> keys = keySet();
-        for (K key : keys){
-            keyValuePairs.add(new KeyValuePair<>(key, get(key)));
+        ArrayList<KeyValuePair<K,V>> keyValuePairs = new ArrayList<>(size);
+        NodeIterator it = new NodeIterator();
+        while (it.hasNext()){
+            keyValuePairs.add(it.next());
         }
         return keyValuePairs;
     }
@@ -388,15 +830,24 @@ public class BSTMap<K, V> implements MapSet<K, V>{
     }
 
     /**
-     * Helper method to get the maximum depth of the BSTMap.
+     * Helper method to get the maximum depth of a subtree, walking it one level at a time.
      * 
-     * @param curr the current node
-     * @return the maximum depth of the BSTMap
+     * @param curr the root of the subtree
+     * @return the maximum depth of the subtree
      */
     private int maxDepth(Node<K,V> curr){
-        if (curr == null) return 0;
-        int leftDepth = maxDepth(curr.left);
-        int rightDepth = maxDepth(curr.right);
-        return Math.max(leftDepth, rightDepth) + 1;
+        int depth = 0;
+        ArrayList<Node<K, V>> level = new ArrayList<>();
+        if (curr != null) level.add(curr);
+        while (!level.isEmpty()){
+            depth++;
+            ArrayList<Node<K, V>> nextLevel = new ArrayList<>();
+            for (Node<K, V> node : level){
+                if (node.left != null) nextLevel.add(node.left);
+                if (node.right != null) nextLevel.add(node.right);
+            }
+            level = nextLevel;
+        }
+        return depth;
     }
 }
\ No newline at end of file
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * Author: Muneeb Azfar Nafees
  * 
@@ -131,6 +133,174 @@ public class BSTMapTester {
         System.out.println( "-".repeat(30) );
     }
 
+    /**
+     * Testing merge and compute
+     */
+    public static void test5(){
+        //This test should count repeated keys with merge, and check that compute
+        //can update, insert and remove entries.
+        System.out.println("-".repeat(30) + "\nTest5: ");
+
+        MapSet<String, Integer> map = new BSTMap<>();
+        for(String word : new String[] {"the", "thou", "the", "thy", "the", "thou"}){
+            map.merge(word, 1, Integer::sum);
+        }
+        System.out.println("entrySet: " + map.entrySet() + " == " + "[<the -> 3>, <thou -> 2>, <thy -> 1>]");
+
+        System.out.println("compute: " + map.compute("thy", (k, v) -> v + 10) + " == " + 11);
+        System.out.println("compute: " + map.compute("thee", (k, v) -> v == null ? 1 : v + 1) + " == " + 1);
+        System.out.println("compute: " + map.compute("thou", (k, v) -> null) + " == " + null);
+        System.out.println("size: " + map.size() + " == " + 3);
+        System.out.println("entrySet: " + map.entrySet() + " == " + "[<the -> 3>, <thee -> 1>, <thy -> 11>]");
+        System.out.println( "-".repeat(30) );
+    }
+
+    public static void test6(){
+        //This test should insert keys in sorted order, which makes the tree a single
+        //chain as deep as the map is large, and check that nothing overflows the stack.
+        System.out.println("-".repeat(30) + "\nTest6: ");
+
+        BSTMap<Integer, Integer> map = new BSTMap<>();
+        System.out.println("get on empty map: " + map.get(1) + " == " + null);
+
+        int n = 30000;
+        for(int i = 0; i < n; i++){
+            map.put(i, i);
+        }
+        System.out.println("size: " + map.size() + " == " + n);
+        System.out.println("maxDepth: " + map.maxDepth() + " == " + n);
+        System.out.println("get: " + map.get(n - 1) + " == " + (n - 1));
+        System.out.println("containsKey: " + map.containsKey(n) + " == " + false);
+        System.out.println("put: " + map.put(n - 1, 0) + " == " + (n - 1));
+
+        ArrayList<Integer> keys = map.keySet();
+        System.out.println("keySet: " + keys.size() + " keys from " + keys.get(0) + " to " + keys.get(n - 1) + " == " + n + " keys from 0 to " + (n - 1));
+        ArrayList<Integer> values = map.values();
+        System.out.println("values: " + values.size() + " values, last " + values.get(n - 1) + " == " + n + " values, last 0");
+
+        //entrySet returns the map's own entries, so setting a value updates the map
+        ArrayList<MapSet.KeyValuePair<Integer, Integer>> entries = map.entrySet();
+        entries.get(0).setValue(-1);
+        System.out.println("entrySet: " + entries.size() + " entries, get(0) " + map.get(0) + " == " + n + " entries, get(0) -1");
+        System.out.println( "-".repeat(30) );
+    }
+
+    public static void test7(){
+        //This test should build balanced trees with fromSorted and rebalance, and check
+        //that both have depth ceil(log2(n+1)) and keep every entry.
+        System.out.println("-".repeat(30) + "\nTest7: ");
+
+        for(int n : new int[] {0, 1, 2, 3, 7, 8, 1000}){
+            int expectedDepth = 32 - Integer.numberOfLeadingZeros(n);
+
+            BSTMap<Integer, Integer> sorted = new BSTMap<>();
+            for(int i = 0; i < n; i++){
+                sorted.put(i, i * 2);
+            }
+            BSTMap<Integer, Integer> built = BSTMap.fromSorted(sorted.entrySet());
+            System.out.println("fromSorted n=" + n + ": depth " + built.maxDepth() + ", size " + built.size()
+                    + " == depth " + expectedDepth + ", size " + n);
+
+            sorted.rebalance();
+            System.out.println("rebalance  n=" + n + ": depth " + sorted.maxDepth() + ", same entries " + sorted.entrySet().toString().equals(built.entrySet().toString())
+                    + " == depth " + expectedDepth + ", same entries true");
+        }
+
+        BSTMap<String, Integer> map = new BSTMap<>();
+        for(String word : new String[] {"the", "thou", "thy", "thee", "thine", "art", "hath"}){
+            map.put(word, word.length());
+        }
+        map.rebalance();
+        System.out.println("get after rebalance: " + map.get("thine") + " == " + 5);
+        System.out.println("keySet after rebalance: " + map.keySet() + " == " + "[art, hath, the, thee, thine, thou, thy]");
+
+        ArrayList<MapSet.KeyValuePair<String, Integer>> unsorted = map.entrySet();
+        unsorted.add(unsorted.remove(0));
+        try{
+            BSTMap.fromSorted(unsorted);
+            System.out.println("fromSorted unsorted: no exception == IllegalArgumentException");
+        }
+        catch(IllegalArgumentException e){
+            System.out.println("fromSorted unsorted: IllegalArgumentException == IllegalArgumentException");
+        }
+        System.out.println( "-".repeat(30) );
+    }
+
+    public static void test8(){
+        //This test should rank keys, select keys by position and count keys in a range,
+        //and check that the subtree counts survive removal and rebalancing.
+        System.out.println("-".repeat(30) + "\nTest8: ");
+
+        BSTMap<String, Integer> map = new BSTMap<>();
+        for(String word : new String[] {"lord", "king", "thou", "art", "good", "sir", "come", "well", "man", "night"}){
+            map.put(word, word.length());
+        }
+        // keys in order: [art, come, good, king, lord, man, night, sir, thou, well]
+        System.out.println("rank: " + map.rank("king") + " == " + 3);
+        System.out.println("rank (absent key): " + map.rank("mad") + " == " + 5);
+        System.out.println("select: " + map.select(6) + " == " + "night");
+        System.out.println("countInRange: " + map.countInRange("m", "p") + " == " + 2);
+        System.out.println("countInRange (bounds in map): " + map.countInRange("come", "lord") + " == " + 4);
+        System.out.println("countInRange (lo > hi): " + map.countInRange("p", "m") + " == " + 0);
+
+        map.remove("lord");
+        map.remove("art");
+        map.merge("good", 0, (a, b) -> null);
+        System.out.println("rank after remove: " + map.rank("king") + " == " + 1);
+        System.out.println("select after remove: " + map.select(0) + " == " + "come");
+
+        map.rebalance();
+        System.out.println("select after rebalance: " + map.select(6) + " == " + "well");
+        System.out.println("countInRange after rebalance: " + map.countInRange("a", "z") + " == " + 7);
+
+        try{
+            map.select(7);
+            System.out.println("select(size): no exception == IndexOutOfBoundsException");
+        }
+        catch(IndexOutOfBoundsException e){
+            System.out.println("select(size): IndexOutOfBoundsException == IndexOutOfBoundsException");
+        }
+        System.out.println( "-".repeat(30) );
+    }
+
+    public static void test9(){
+        //This test should walk key ranges and prefixes with the lazy iterators of
+        //subMap, headMap, tailMap and prefixScan.
+        System.out.println("-".repeat(30) + "\nTest9: ");
+
+        BSTMap<String, Integer> map = new BSTMap<>();
+        for(String word : new String[] {"thou", "the", "thee", "thy", "thousand", "art", "thought", "king", "thine", "tho"}){
+            map.put(word, word.length());
+        }
+
+        ArrayList<String> keys = new ArrayList<>();
+        for(MapSet.KeyValuePair<String, Integer> entry : map.prefixScan("thou")){
+            keys.add(entry.getKey());
+        }
+        System.out.println("prefixScan: " + keys + " == " + "[thou, thought, thousand]");
+
+        keys.clear();
+        for(MapSet.KeyValuePair<String, Integer> entry : map.subMap("the", "thine")){
+            keys.add(entry.getKey());
+        }
+        System.out.println("subMap: " + keys + " == " + "[the, thee]");
+
+        keys.clear();
+        for(MapSet.KeyValuePair<String, Integer> entry : map.headMap("the")){
+            keys.add(entry.getKey());
+        }
+        System.out.println("headMap: " + keys + " == " + "[art, king]");
+
+        keys.clear();
+        for(MapSet.KeyValuePair<String, Integer> entry : map.tailMap("thr")){
+            keys.add(entry.getKey());
+        }
+        System.out.println("tailMap: " + keys + " == " + "[thy]");
+
+        System.out.println("prefixScan (no match): " + map.prefixScan("z").iterator().hasNext() + " == " + false);
+        System.out.println( "-".repeat(30) );
+    }
+
     /*
      * Main method to run all tests
      */
@@ -139,6 +309,11 @@ public class BSTMapTester {
         test2();
         test3();
         test4();
+        test5();
+        test6();
+        test7();
+        test8();
+        test9();
     }
 
 }
\ No newline at end of file
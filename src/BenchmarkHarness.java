@@ -0,0 +1,213 @@
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Author: Muneeb Azfar Nafees
+ *
+ * Purpose of class: To time a task with System.nanoTime. Each run starts with
+ * warm-up repetitions that are thrown away so the JIT has compiled the code,
+ * then times the task a number of times and keeps every sample. Results report
+ * the min, median, 95th and 99th percentile times and the throughput in words
+ * per second, and can be written out as CSV or JSON.
+ */
+
+public class BenchmarkHarness {
+
+    /**
+     * The timed samples of one task.
+     */
+    public static class Result {
+        private final String label;
+        private final long words;
+        // Sorted sample times in nanoseconds
+        private final long[] samples;
+
+        /**
+         * Constructor for the Result class.
+         *
+         * @param label   the name of the task
+         * @param words   the number of words the task processes each time it runs
+         * @param samples the time of each timed run in nanoseconds
+         */
+        public Result(String label, long words, long[] samples) {
+            this.label = label;
+            this.words = words;
+            this.samples = samples.clone();
+            Arrays.sort(this.samples);
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getWords() {
+            return words;
+        }
+
+        /**
+         * Returns the time below which the given percentage of the samples fall
+         * (nearest-rank method).
+         *
+         * @param percent the percentile, from 0 to 100
+         * @return the percentile time in nanoseconds
+         */
+        public long percentile(double percent) {
+            int rank = (int) Math.ceil(percent / 100.0 * samples.length);
+            return samples[Math.max(0, Math.min(samples.length - 1, rank - 1))];
+        }
+
+        public long min() {
+            return samples[0];
+        }
+
+        public long median() {
+            return percentile(50);
+        }
+
+        /**
+         * Returns the number of words processed per second at the median time.
+         *
+         * @return the median throughput in words per second
+         */
+        public double wordsPerSecond() {
+            return words * 1e9 / median();
+        }
+
+        /**
+         * Returns a one-line summary of the result with times in milliseconds.
+         *
+         * @return the summary of the result
+         */
+        public String toString() {
+            return String.format("%-40s min %9.3f ms  median %9.3f ms  p95 %9.3f ms  p99 %9.3f ms  %,14.0f words/s",
+                    label, min() / 1e6, median() / 1e6, percentile(95) / 1e6, percentile(99) / 1e6, wordsPerSecond());
+        }
+    }
+
+    private final int warmup;
+    private final int trials;
+    private final ArrayList<Result> results;
+
+    /**
+     * Constructor for the BenchmarkHarness class.
+     *
+     * @param warmup the number of untimed runs before the timed ones, at least 0
+     * @param trials the number of timed runs, at least 1
+     * @throws IllegalArgumentException if warmup is negative or trials is less than 1
+     */
+    public BenchmarkHarness(int warmup, int trials) {
+        if (warmup < 0) {
+            throw new IllegalArgumentException("Warmup runs must not be negative: " + warmup);
+        }
+        // The percentiles of a result need at least one timed run
+        if (trials < 1) {
+            throw new IllegalArgumentException("There must be at least one timed run: " + trials);
+        }
+        this.warmup = warmup;
+        this.trials = trials;
+        this.results = new ArrayList<>();
+    }
+
+    /**
+     * Runs the setup and then the task warmup + trials times, timing only the
+     * task of the last trials runs, and records the result.
+     *
+     * @param label the name of the task
+     * @param words the number of words the task processes each time it runs
+     * @param setup what to do, untimed, before each run of the task
+     * @param task  the task to be timed
+     * @return the result of the timed runs
+     */
+    public Result run(String label, long words, Runnable setup, Runnable task) {
+        for (int i = 0; i < warmup; i++) {
+            setup.run();
+            task.run();
+        }
+
+        long[] samples = new long[trials];
+        for (int i = 0; i < trials; i++) {
+            setup.run();
+            long startTime = System.nanoTime();
+            task.run();
+            samples[i] = System.nanoTime() - startTime;
+        }
+
+        Result result = new Result(label, words, samples);
+        results.add(result);
+        return result;
+    }
+
+    /**
+     * Returns every result recorded so far, in the order they were run.
+     *
+     * @return the recorded results
+     */
+    public ArrayList<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the recorded results as CSV, one row per result, with times in nanoseconds.
+     *
+     * @return the results as CSV
+     */
+    public String toCSV() {
+        StringBuilder sb = new StringBuilder("label,words,trials,min_ns,median_ns,p95_ns,p99_ns,words_per_second\n");
+        for (Result r : results) {
+            sb.append('"').append(r.label.replace("\"", "\"\"")).append('"')
+              .append(',').append(r.words)
+              .append(',').append(trials)
+              .append(',').append(r.min())
+              .append(',').append(r.median())
+              .append(',').append(r.percentile(95))
+              .append(',').append(r.percentile(99))
+              .append(',').append(String.format(Locale.ROOT, "%.1f", r.wordsPerSecond()))
+              .append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the recorded results as a JSON array, one object per result, with times in nanoseconds.
+     *
+     * @return the results as JSON
+     */
+    public String toJSON() {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            sb.append("  {\"label\": \"").append(r.label.replace("\\", "\\\\").replace("\"", "\\\"")).append('"')
+              .append(", \"words\": ").append(r.words)
+              .append(", \"warmup\": ").append(warmup)
+              .append(", \"trials\": ").append(trials)
+              .append(", \"minNs\": ").append(r.min())
+              .append(", \"medianNs\": ").append(r.median())
+              .append(", \"p95Ns\": ").append(r.percentile(95))
+              .append(", \"p99Ns\": ").append(r.percentile(99))
+              .append(", \"wordsPerSecond\": ").append(String.format(Locale.ROOT, "%.1f", r.wordsPerSecond()))
+              .append(i < results.size() - 1 ? "},\n" : "}\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    /**
+     * Writes the recorded results to the given file, as JSON if its name ends
+     * in ".json" and as CSV otherwise.
+     *
+     * @param filename the name of the file to be written
+     * @return true if the file was written, false otherwise
+     */
+    public boolean write(String filename) {
+        try (FileWriter writer = new FileWriter(filename)) {
+            writer.write(filename.endsWith(".json") ? toJSON() : toCSV());
+            return true;
+        }
+        catch (IOException ex) {
+            System.out.println("BenchmarkHarness.write():: error writing file " + filename);
+            return false;
+        }
+    }
+}
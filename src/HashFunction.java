@@ -0,0 +1,88 @@
+/**
+ * Interface for a function that turns a key into a 32-bit hash, so that a
+ * HashMap can be given a hash other than the key's own hashCode. The map
+ * spreads the hash and masks it to pick a bucket, and keeps it in the node,
+ * so the function is called once per operation and never during a resize.
+ *
+ * The built-in functions hash Strings (and other keys through toString)
+ * character by character, except jdk and murmur3, which start from hashCode.
+ *
+ * @author Muneeb Azfar Nafees
+ */
+
+public interface HashFunction<K> {
+
+    /**
+     * Returns the hash of the specified key.
+     *
+     * @param key the key to be hashed
+     * @return the hash of the key
+     */
+    public int hash(K key);
+
+    /**
+     * Returns the key's own hashCode. String caches its hashCode, so hashing
+     * the same String object again costs nothing.
+     *
+     * @return the hash function of the JDK
+     */
+    public static <K> HashFunction<K> jdk() {
+        return key -> key.hashCode();
+    }
+
+    /**
+     * Returns the polynomial rolling hash h = 31 * h + c over the characters of
+     * the key's toString, computed in one pass with int overflow instead of a
+     * modulo at every step. For Strings it equals String.hashCode but is never
+     * cached, so it shows the cost of hashing every character.
+     *
+     * @return the polynomial rolling hash function
+     */
+    public static <K> HashFunction<K> polynomial() {
+        return key -> {
+            String s = key.toString();
+            int h = 0;
+            for (int i = 0; i < s.length(); i++) {
+                h = 31 * h + s.charAt(i);
+            }
+            return h;
+        };
+    }
+
+    /**
+     * Returns the 32-bit FNV-1a hash over the characters of the key's toString:
+     * each character is xored into the hash, which is then multiplied by the FNV prime.
+     *
+     * @return the FNV-1a hash function
+     */
+    public static <K> HashFunction<K> fnv1a() {
+        return key -> {
+            String s = key.toString();
+            int h = 0x811c9dc5;
+            for (int i = 0; i < s.length(); i++) {
+                h ^= s.charAt(i);
+                h *= 0x01000193;
+            }
+            return h;
+        };
+    }
+
+    /**
+     * Returns the key's hashCode passed through the MurmurHash3 finalizer
+     * (fmix32), which makes every bit of the result depend on every bit of
+     * the hashCode.
+     *
+     * @return the Murmur3-finalized hash function
+     */
+    public static <K> HashFunction<K> murmur3() {
+        return key -> {
+            int h = key.hashCode();
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h;
+        };
+    }
+}
@@ -1,30 +1,73 @@
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 
 /**
  * Author: Muneeb Azfar Nafees
  * 
- * Purpose of the class: A simple implementation of a HashMap.
+ * Purpose of the class: A simple implementation of a HashMap. The capacity is
+ * always a power of two, so a key's bucket is its spread hash masked by
+ * capacity - 1, with no division. Each node keeps its key's hash, so a resize
+ * never hashes a key again: it splits each chain in two by a single bit of
+ * the stored hash and relinks the same nodes. The hash comes from a
+ * HashFunction, the key's own hashCode unless another one is given.
+ * A chain that grows past 8 nodes, because of a weak hash function or
+ * skewed keys, is turned into a small AVL tree of the same nodes, ordered
+ * by hash and then by key, so looking up a key in it takes O(log n) steps
+ * instead of O(n); it is turned back into a chain once it has 6 nodes or fewer.
  */
 
 public class HashMap<K,V> implements MapSet<K,V> {
 
+    // Number of old buckets moved on each operation during an incremental resize
+    private static final int MIGRATE_PER_OPERATION = 4;
+    // A chain longer than this is turned into a tree
+    private static final int TREEIFY_THRESHOLD = 8;
+    // A tree with this many nodes or fewer is turned back into a chain
+    private static final int UNTREEIFY_THRESHOLD = 6;
+
     private int size;
     private Node<K,V>[] nodes;
     private double maxLoadFactor;
+    private final HashFunction<? super K> hashFunction;
+
+    // Whether a resize is spread over the following operations instead of done at once
+    private boolean incrementalResize;
+    // The table being drained during a resize, or null when no resize is in progress
+    private Node<K,V>[] oldNodes;
+    // The next bucket of oldNodes to be moved
+    private int migrateIndex;
 
     /**
-     * Creates a node using the given key and value.
+     * Creates a node using the given key and value. A node can sit in a chain
+     * or in a bucket that has been turned into a tree, and moves between the
+     * two in place, so the pairs handed out by entrySet and the iterator stay
+     * the map's own nodes. In a tree bucket, the bucket holds the root of the
+     * tree, and the nodes are also linked in a list through next (and prev),
+     * starting at the root, so everything that walks a bucket's chain still
+     * sees every node of a tree bucket. In a chain, the tree links are null
+     * and the height is 0.
      */
     private static class Node<K, V> extends KeyValuePair<K, V>{
-        private Node<K, V> next;
+        // The spread hash of the key, computed once when the node is created
+        final int hash;
+        Node<K, V> next;
+        private Node<K, V> left;
+        private Node<K, V> right;
+        private Node<K, V> prev;
+        // The height of the node's subtree in a tree bucket, 0 in a chain
+        private int height;
 
         /**
          * Constructor for the Node class.
-         * @param k the key
-         * @param v the value
+         * @param hash the spread hash of the key
+         * @param k    the key
+         * @param v    the value
          */
-        public Node(K k, V v) {
+        public Node(int hash, K k, V v) {
             super(k, v);
+            this.hash = hash;
             next = null;
         }
     }
@@ -56,9 +99,59 @@ public class HashMap<K,V> implements MapSet<K,V> {
      * @param loadFactor the maximum load factor of the HashMap
      */
     public HashMap(int capacity, double loadFactor){
-        nodes = (Node<K,V>[]) new Node[capacity];
+        this(capacity, loadFactor, false);
+    }
+
+    /**
+     * Constructor for the HashMap class.
+     * Initializes the size to 0, the nodes array to the given capacity rounded
+     * up to a power of two, the max load factor to the given load factor, and
+     * the resize mode.
+     * With incremental resizing, the old and new arrays are kept side by side
+     * and a few buckets are moved on each operation, so no single put pays
+     * for a full rehash.
+     * 
+     * @param capacity          the initial capacity of the HashMap
+     * @param loadFactor        the maximum load factor of the HashMap
+     * @param incrementalResize whether to spread each resize over later operations
+     */
+    public HashMap(int capacity, double loadFactor, boolean incrementalResize){
+        this(capacity, loadFactor, incrementalResize, HashFunction.jdk());
+    }
+
+    /**
+     * Constructor for the HashMap class.
+     * Initializes the size to 0 and the nodes array to a default size of 16,
+     * and hashes keys with the given hash function.
+     * 
+     * @param hashFunction the function that hashes the keys
+     */
+    public HashMap(HashFunction<? super K> hashFunction){
+        this(16, 0.75, false, hashFunction);
+    }
+
+    /**
+     * Constructor for the HashMap class.
+     * Initializes the size to 0, the nodes array to the given capacity rounded
+     * up to a power of two, the max load factor to the given load factor, the
+     * resize mode, and the function that hashes the keys.
+     * 
+     * @param capacity          the initial capacity of the HashMap
+     * @param loadFactor        the maximum load factor of the HashMap
+     * @param incrementalResize whether to spread each resize over later operations
+     * @param hashFunction      the function that hashes the keys
+     */
+    public HashMap(int capacity, double loadFactor, boolean incrementalResize, HashFunction<? super K> hashFunction){
+        this.hashFunction = hashFunction;
+        int n = 1;
+        while (n < capacity) {
+            n *= 2;
+        }
+        nodes = (Node<K,V>[]) new Node[n];
         this.size = 0;
         this.maxLoadFactor = loadFactor;
+        this.incrementalResize = incrementalResize;
+        this.oldNodes = null;
     }
 
     /**
@@ -77,7 +170,20 @@ public class HashMap<K,V> implements MapSet<K,V> {
      * @return the index of the node in the nodes array
      */
     public int hash(K key){
-        return Math.abs(key.hashCode() % capacity());
+        return spread(key) & (capacity() - 1);
+    }
+
+    /**
+     * Returns the hash of the given key with its high bits folded into the low
+     * bits, which are the only ones the bucket mask keeps, so keys whose hashes
+     * differ only in their high bits still land in different buckets.
+     * 
+     * @param key the key to be hashed
+     * @return the spread hash of the key
+     */
+    private int spread(K key){
+        int h = hashFunction.hash(key);
+        return h ^ (h >>> 16);
     }
 
     /**
@@ -94,9 +200,23 @@ public class HashMap<K,V> implements MapSet<K,V> {
      */
     public void clear(){
         nodes  = (Node<K,V>[]) new Node[16];
+        oldNodes = null;
         size = 0;
     }
 
+    /**
+     * Returns the arrays that currently hold nodes: the nodes array, followed by
+     * the old array while an incremental resize is in progress.
+     * 
+     * @return the arrays that currently hold nodes
+     */
+    private Node<K,V>[][] tables(){
+        if (oldNodes == null) {
+            return (Node<K,V>[][]) new Node[][] { nodes };
+        }
+        return (Node<K,V>[][]) new Node[][] { nodes, oldNodes };
+    }
+
     /**
      * Returns the string representation of the HashMap.
      * 
@@ -113,61 +233,565 @@ public class HashMap<K,V> implements MapSet<K,V> {
             }
             output += "\n" ;
          }
+         // Buckets that an incremental resize has not moved yet
+         for ( int i = this.migrateIndex ; this.oldNodes != null && i < this.oldNodes.length ; i ++ ) {
+            Node<K,V> node = this.oldNodes[ i ] ;
+            output += "old bin " + i + ": " ;
+            while (node != null) {
+                output += node.toString() + " | " ;
+                node = node.next ;
+            }
+            output += "\n" ;
+         }
         return output ;
     }
     
     /**
      * Puts the given key-value pair into the HashMap.
      * If the key already exists, it updates the value.
-     * If the key does not exist, it adds a new node to the end of the linked list.
+     * If the key does not exist, it adds a new node to the end of the linked list,
+     * or into the tree if the bucket has been turned into one.
      * 
      * @param key   the key to be added
      * @param value the value to be added
      * @return the old value associated with the key, or null if there was no mapping for the key
      */
     public V put(K key, V value){
+        int h = spread(key);
+        migrate(h);
+        int index = h & (capacity() - 1);
 
-        if(containsKey(key)){
+        Node<K,V> current = findNode(nodes[index], h, key);
+        if (current != null) {
             // If the key already exists, update the value and return the old value
-            V oldValue = get(key);
-            int index = hash(key);
-            Node<K,V> current = nodes[index];
-            while (current != null) {
-                if (current.getKey().equals(key)) {
-                    current.setValue(value);
-                    return oldValue;
+            V oldValue = current.getValue();
+            current.setValue(value);
+            return oldValue;
+        }
+
+        // If the key is not found, add a new node to its bucket
+        addNode(index, h, key, value);
+        return null;
+    }
+
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is null.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with key if it is absent
+     * @param remappingFunction the function to recompute a value if key is present
+     * @return the new value associated with key, or null if no value is associated with key
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction){
+        int h = spread(key);
+        migrate(h);
+        int index = h & (capacity() - 1);
+        Node<K,V> current = findNode(nodes[index], h, key);
+        if (current != null) {
+            V oldValue = current.getValue();
+            V newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+            if (newValue == null) {
+                removeNode(index, current);
+            }
+            else {
+                current.setValue(newValue);
+            }
+            return newValue;
+        }
+
+        addNode(index, h, key, value);
+        return value;
+    }
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value (null if there is no current mapping). If the function returns null,
+     * the mapping is removed (or remains absent if initially absent).
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with key, or null if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction){
+        int h = spread(key);
+        migrate(h);
+        int index = h & (capacity() - 1);
+        Node<K,V> current = findNode(nodes[index], h, key);
+        if (current != null) {
+            V newValue = remappingFunction.apply(key, current.getValue());
+            if (newValue == null) {
+                removeNode(index, current);
+            }
+            else {
+                current.setValue(newValue);
+            }
+            return newValue;
+        }
+
+        V newValue = remappingFunction.apply(key, null);
+        if (newValue != null) {
+            addNode(index, h, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Adds a new node for a key that is not in the map to its bucket and grows
+     * the table if needed.
+     * 
+     * @param index the bucket the key belongs to
+     * @param h     the spread hash of the key
+     * @param key   the key to be added
+     * @param value the value to be added
+     */
+    private void addNode(int index, int h, K key, V value){
+        link(index, new Node<>(h, key, value));
+        size++;
+        upsize();
+    }
+
+    /**
+     * Unlinks a node from its bucket and shrinks the table if needed.
+     * 
+     * @param index   the bucket the node belongs to
+     * @param current the node to be removed
+     */
+    private void removeNode(int index, Node<K,V> current){
+        if (isTree(nodes[index])) {
+            removeTreeNode(index, current);
+        }
+        else if (nodes[index] == current) {
+            nodes[index] = current.next;
+        }
+        else {
+            // Chains are never longer than TREEIFY_THRESHOLD, so this walk is short
+            Node<K,V> previous = nodes[index];
+            while (previous.next != current) {
+                previous = previous.next;
+            }
+            previous.next = current.next;
+        }
+        size--;
+        // Check if the size is less than the threshold to downsize: fC/4
+        downsize();
+    }
+
+    /**
+     * Links a node that is in no bucket into the given bucket: at the end of its
+     * chain, turning the chain into a tree if it gets too long, or into its tree.
+     * The node itself is linked, whether it was in a chain or a tree before.
+     * 
+     * @param index the bucket of the nodes array
+     * @param node  the node to be linked
+     */
+    private void link(int index, Node<K,V> node){
+        node.next = null;
+        Node<K,V> head = nodes[index];
+        if (isTree(head)) {
+            addTreeNode(index, node);
+            return;
+        }
+
+        clearTreeLinks(node);
+        if (head == null) {
+            nodes[index] = node;
+            return;
+        }
+        int length = 2;
+        Node<K,V> tail = head;
+        while (tail.next != null) {
+            tail = tail.next;
+            length++;
+        }
+        tail.next = node;
+        if (length > TREEIFY_THRESHOLD) {
+            nodes[index] = treeify(head);
+        }
+    }
+
+    /**
+     * Returns whether the bucket with the given head has been turned into a tree.
+     * 
+     * @param head the first node of the bucket, or null
+     * @return true if the bucket holds a tree
+     */
+    private static boolean isTree(Node<?,?> head){
+        return head != null && head.height > 0;
+    }
+
+    /**
+     * Clears the tree links of a node that goes into a chain.
+     * 
+     * @param node the node to be cleared
+     */
+    private static void clearTreeLinks(Node<?,?> node){
+        node.left = null;
+        node.right = null;
+        node.prev = null;
+        node.height = 0;
+    }
+
+    /**
+     * Returns the node holding the given key in the bucket with the given head,
+     * walking the chain or searching the tree.
+     * 
+     * @param head the first node of the bucket
+     * @param h    the spread hash of the key
+     * @param key  the key to be searched
+     * @return the node holding the key, or null if it is not in the bucket
+     */
+    private Node<K,V> findNode(Node<K,V> head, int h, K key){
+        if (isTree(head)) {
+            return findTreeNode(head, h, key);
+        }
+        for (Node<K,V> current = head; current != null; current = current.next) {
+            if (current.hash == h && current.getKey().equals(key)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Orders a key against a tree node: by hash first, and then by the keys
+     * themselves if they are of the same Comparable class. Returns 0 if the
+     * order cannot be told this way, in which case the key may be on either side.
+     * 
+     * @param h    the spread hash of the key
+     * @param key  the key
+     * @param node the tree node to compare against
+     * @return a negative number, zero, or a positive number as the key goes left of, either side of, or right of the node
+     */
+    private static <K> int compare(int h, K key, Node<K,?> node){
+        if (h != node.hash) {
+            return h < node.hash ? -1 : 1;
+        }
+        K other = node.getKey();
+        if (key instanceof Comparable && key.getClass() == other.getClass()) {
+            return ((Comparable<Object>) key).compareTo(other);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the tree node holding the given key in the subtree with the given
+     * root. Where the order of the key cannot be told, both sides are searched.
+     * 
+     * @param root the root of the subtree
+     * @param h    the spread hash of the key
+     * @param key  the key to be searched
+     * @return the node holding the key, or null if it is not in the subtree
+     */
+    private Node<K,V> findTreeNode(Node<K,V> root, int h, K key){
+        Node<K,V> current = root;
+        while (current != null) {
+            if (current.hash == h && current.getKey().equals(key)) {
+                return current;
+            }
+            int cmp = compare(h, key, current);
+            if (cmp < 0) {
+                current = current.left;
+            }
+            else if (cmp > 0) {
+                current = current.right;
+            }
+            else {
+                Node<K,V> found = findTreeNode(current.right, h, key);
+                if (found != null) {
+                    return found;
                 }
-                current = current.next;
+                current = current.left;
             }
-            return oldValue;
         }
+        return null;
+    }
 
-        // If the key does not exist, add a new node to the end of the linked list
-        int index = hash(key);
+    /**
+     * Returns whether the given node is in the subtree with the given root.
+     * 
+     * @param root the root of the subtree
+     * @param node the node to be searched
+     * @return true if node is in the subtree
+     */
+    private boolean containsTreeNode(Node<K,V> root, Node<K,V> node){
+        Node<K,V> current = root;
+        while (current != null && current != node) {
+            int cmp = compare(node.hash, node.getKey(), current);
+            if (cmp == 0) {
+                return containsTreeNode(current.left, node) || containsTreeNode(current.right, node);
+            }
+            current = cmp < 0 ? current.left : current.right;
+        }
+        return current == node;
+    }
 
-        Node<K,V> newNode = new Node<>(key, value);
+    /**
+     * Adds a node to the tree of the given bucket: first to the list,
+     * right after the root, and then to the tree.
+     * 
+     * @param index the bucket of the nodes array, which holds a tree
+     * @param node  the node to be added
+     */
+    private void addTreeNode(int index, Node<K,V> node){
+        Node<K,V> root = nodes[index];
+        node.left = null;
+        node.right = null;
+        node.height = 1;
+        node.prev = root;
+        node.next = root.next;
+        if (root.next != null) {
+            root.next.prev = node;
+        }
+        root.next = node;
+        nodes[index] = moveRootToFront(root, insert(root, node));
+    }
 
-        if (nodes[index] == null) {
-            nodes[index] = newNode;
-            size++;
-            upsize();
-            return null;
+    /**
+     * Removes a node from the tree of the given bucket, and turns the tree
+     * back into a chain if it has become small.
+     * 
+     * @param index the bucket of the nodes array, which holds a tree
+     * @param node  the node to be removed
+     */
+    private void removeTreeNode(int index, Node<K,V> node){
+        Node<K,V> root = nodes[index];
+        Node<K,V> first = root;
+        if (node.prev == null) {
+            first = node.next;
         }
         else {
-            // Traverse the linked list in the nodes array to find the key
-            Node<K,V> previous = null;
-            Node<K,V> current = nodes[index];
-            while (current != null) {
-                previous = current;
-                current = current.next;
-            }
-
-            // If the key is not found, add the new node to the end of the linked list
-            previous.next = newNode;
-            size++;
-            upsize();
-            return null;
-        }       
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+
+        root = delete(root, node);
+        clearTreeLinks(node);
+        if (root == null) {
+            nodes[index] = null;
+            return;
+        }
+        first.prev = null;
+        nodes[index] = moveRootToFront(first, root);
+
+        // A tree of height 3 or less has at most 7 nodes, so counting them is cheap
+        if (root.height <= 3) {
+            int length = 0;
+            for (Node<K,V> current = root; current != null; current = current.next) {
+                length++;
+            }
+            if (length <= UNTREEIFY_THRESHOLD) {
+                nodes[index] = untreeify(root);
+            }
+        }
+    }
+
+    /**
+     * Moves the root of a tree to the front of its list, so that the bucket's
+     * head is both the root of the tree and the first node of the list.
+     * 
+     * @param first the first node of the list
+     * @param root  the root of the tree
+     * @return the root, now the first node of the list
+     */
+    private static <K,V> Node<K,V> moveRootToFront(Node<K,V> first, Node<K,V> root){
+        if (first == root) {
+            return root;
+        }
+        root.prev.next = root.next;
+        if (root.next != null) {
+            root.next.prev = root.prev;
+        }
+        root.next = first;
+        first.prev = root;
+        root.prev = null;
+        return root;
+    }
+
+    /**
+     * Turns a chain, or the list of a tree, into a tree of the same nodes.
+     * 
+     * @param first the first node of the list, linked through next
+     * @return the root of the tree, which is also the first node of its list
+     */
+    private Node<K,V> treeify(Node<K,V> first){
+        Node<K,V> root = null;
+        Node<K,V> prev = null;
+        for (Node<K,V> node = first; node != null; node = node.next) {
+            node.prev = prev;
+            node.left = null;
+            node.right = null;
+            node.height = 1;
+            root = insert(root, node);
+            prev = node;
+        }
+        return moveRootToFront(first, root);
+    }
+
+    /**
+     * Turns the list of a tree back into a chain of the same nodes, in the same order.
+     * 
+     * @param first the first node of the list
+     * @return the first node of the chain
+     */
+    private Node<K,V> untreeify(Node<K,V> first){
+        for (Node<K,V> current = first; current != null; current = current.next) {
+            clearTreeLinks(current);
+        }
+        return first;
+    }
+
+    /**
+     * Inserts a node into the subtree with the given root and rebalances it.
+     * Where the order cannot be told by hash and key, the identity hash codes
+     * of the keys decide.
+     * 
+     * @param root the root of the subtree, or null
+     * @param node the node to be inserted
+     * @return the new root of the subtree
+     */
+    private Node<K,V> insert(Node<K,V> root, Node<K,V> node){
+        if (root == null) {
+            return node;
+        }
+        int cmp = compare(node.hash, node.getKey(), root);
+        if (cmp == 0) {
+            cmp = System.identityHashCode(node.getKey()) <= System.identityHashCode(root.getKey()) ? -1 : 1;
+        }
+        if (cmp < 0) {
+            root.left = insert(root.left, node);
+        }
+        else {
+            root.right = insert(root.right, node);
+        }
+        return balance(root);
+    }
+
+    /**
+     * Deletes a node from the subtree with the given root and rebalances it.
+     * A node with two children is replaced by its successor node.
+     * 
+     * @param root the root of the subtree
+     * @param node the node to be deleted
+     * @return the new root of the subtree
+     */
+    private Node<K,V> delete(Node<K,V> root, Node<K,V> node){
+        if (root == node) {
+            if (root.left == null) {
+                return root.right;
+            }
+            if (root.right == null) {
+                return root.left;
+            }
+            Node<K,V> successor = root.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = deleteMin(root.right);
+            successor.left = root.left;
+            return balance(successor);
+        }
+        int cmp = compare(node.hash, node.getKey(), root);
+        if (cmp == 0) {
+            cmp = containsTreeNode(root.left, node) ? -1 : 1;
+        }
+        if (cmp < 0) {
+            root.left = delete(root.left, node);
+        }
+        else {
+            root.right = delete(root.right, node);
+        }
+        return balance(root);
+    }
+
+    /**
+     * Unlinks the leftmost node of the subtree with the given root and rebalances it.
+     * 
+     * @param root the root of the subtree
+     * @return the new root of the subtree
+     */
+    private Node<K,V> deleteMin(Node<K,V> root){
+        if (root.left == null) {
+            return root.right;
+        }
+        root.left = deleteMin(root.left);
+        return balance(root);
+    }
+
+    /**
+     * Updates the height of a node and restores the AVL property at it with one or two rotations.
+     * 
+     * @param node the node to be balanced
+     * @return the root of the balanced subtree
+     */
+    private static <K,V> Node<K,V> balance(Node<K,V> node){
+        updateHeight(node);
+        int balanceFactor = height(node.left) - height(node.right);
+        if (balanceFactor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balanceFactor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the left.
+     * 
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private static <K,V> Node<K,V> rotateLeft(Node<K,V> node){
+        Node<K,V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates the subtree rooted at the given node to the right.
+     * 
+     * @param node the root of the subtree
+     * @return the new root of the subtree
+     */
+    private static <K,V> Node<K,V> rotateRight(Node<K,V> node){
+        Node<K,V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Returns the stored height of a tree node, 0 for an empty subtree.
+     * 
+     * @param node the node
+     * @return the height of the subtree rooted at node
+     */
+    private static int height(Node<?,?> node){
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Recomputes the height of a tree node from its children.
+     * 
+     * @param node the node to be updated
+     */
+    private static void updateHeight(Node<?,?> node){
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
     }
 
     /**
@@ -176,38 +800,164 @@ public class HashMap<K,V> implements MapSet<K,V> {
     private void upsize(){
         if(size > capacity() * maxLoadFactor){
             // Resize the nodes array if the fC > n
-            ArrayList<KeyValuePair<K,V>> entrySet = entrySet();
-            Node<K,V>[] newNodes = (Node<K,V>[]) new Node[capacity() * 2];
-            nodes = newNodes;
-            size = 0;
+            resize(capacity() * 2);
+        }
+    }
+
+    /**
+     * Replaces the nodes array with an empty array of the given capacity and
+     * moves the existing nodes into it. Nodes are relinked rather than copied,
+     * so no entry is allocated or re-put. With incremental resizing, the old
+     * array is kept and drained a few buckets per operation instead.
+     * 
+     * @param newCapacity the capacity of the new nodes array, a power of two
+     */
+    private void resize(int newCapacity){
+        if (oldNodes != null) {
+            // Finish the previous resize before starting another one
+            migrateBuckets(oldNodes.length);
+        }
+        oldNodes = nodes;
+        nodes = (Node<K,V>[]) new Node[newCapacity];
+        migrateIndex = 0;
+        if (!incrementalResize) {
+            migrateBuckets(oldNodes.length);
+        }
+    }
+
+    /**
+     * Advances an incremental resize before an operation on a key.
+     * The key's own old bucket is moved first, so the operation only has to
+     * look in the nodes array, and then a few more buckets are moved in order.
+     * 
+     * @param h the spread hash of the key about to be looked up, inserted or removed
+     */
+    private void migrate(int h){
+        if (oldNodes == null) return;
+        moveBucket(h & (oldNodes.length - 1));
+        migrateBuckets(MIGRATE_PER_OPERATION);
+    }
 
-            for (KeyValuePair<K,V> entry : entrySet) {
-                put(entry.getKey(), entry.getValue());
+    /**
+     * Moves up to the given number of old buckets, in order, into the nodes array,
+     * and ends the resize once every old bucket has been moved.
+     * 
+     * @param count the maximum number of buckets to move
+     */
+    private void migrateBuckets(int count){
+        while (count > 0 && oldNodes != null) {
+            moveBucket(migrateIndex);
+            migrateIndex++;
+            count--;
+            if (migrateIndex == oldNodes.length) {
+                oldNodes = null;
             }
         }
     }
 
     /**
-     * Returns the value associated with the given key.
-     * If the key does not exist, it returns null.
+     * Moves every node of an old bucket into the nodes array, using the stored
+     * hashes. When growing, the bit of the hash that the old mask left out
+     * decides whether a node stays at the same index (lo) or moves up by the
+     * old capacity (hi), so the chain is split in two, in order, in one pass.
+     * A tree is split the same way, through its list, and each half becomes a
+     * tree again or, if it is small, a chain. When shrinking, the whole chain
+     * goes to one bucket.
      * 
-     * @param key the key to be searched
-     * @return the value associated with the key, or null if the key does not exist
+     * @param oldIndex the bucket of the old array to be emptied
      */
-    public V get(K key){
-        int index  = hash(key);
+    private void moveBucket(int oldIndex){
+        Node<K,V> current = oldNodes[oldIndex];
+        oldNodes[oldIndex] = null;
+        if (current == null) return;
 
-        Node<K,V> curNode = nodes[index];
+        int oldCapacity = oldNodes.length;
+        if (capacity() < oldCapacity) {
+            appendChain(oldIndex & (capacity() - 1), current);
+            return;
+        }
 
-        while(curNode != null){
-            if(curNode.getKey().equals(key)){
-                V value = curNode.getValue();
-                return value;
+        Node<K,V> loHead = null, loTail = null;
+        Node<K,V> hiHead = null, hiTail = null;
+        while (current != null) {
+            if ((current.hash & oldCapacity) == 0) {
+                if (loTail == null) loHead = current;
+                else loTail.next = current;
+                loTail = current;
             }
-            curNode = curNode.next;
+            else {
+                if (hiTail == null) hiHead = current;
+                else hiTail.next = current;
+                hiTail = current;
+            }
+            current = current.next;
+        }
+        if (loTail != null) {
+            loTail.next = null;
+            appendChain(oldIndex, loHead);
         }
+        if (hiTail != null) {
+            hiTail.next = null;
+            appendChain(oldIndex + oldCapacity, hiHead);
+        }
+    }
 
-        return null;
+    /**
+     * Adds a chain of nodes, or the list of a tree, to a bucket of the nodes
+     * array. When growing, the bucket is always still empty and gets the whole
+     * chain at once, as a chain or a tree depending on its length.
+     * 
+     * @param index the bucket of the nodes array
+     * @param chain the first node of the chain to be added
+     */
+    private void appendChain(int index, Node<K,V> chain){
+        if (nodes[index] != null) {
+            while (chain != null) {
+                Node<K,V> next = chain.next;
+                link(index, chain);
+                chain = next;
+            }
+            return;
+        }
+
+        int length = 0;
+        for (Node<K,V> current = chain; current != null; current = current.next) {
+            length++;
+        }
+        if (isTree(chain)) {
+            nodes[index] = length > UNTREEIFY_THRESHOLD ? treeify(chain) : untreeify(chain);
+        }
+        else {
+            nodes[index] = length > TREEIFY_THRESHOLD ? treeify(chain) : chain;
+        }
+    }
+
+    /**
+     * Returns the node holding the given key, looking in the old array as well
+     * while an incremental resize is in progress.
+     * 
+     * @param key the key to be searched
+     * @return the node holding the key, or null if the key does not exist
+     */
+    private Node<K,V> findNode(K key){
+        int h = spread(key);
+        Node<K,V> node = findNode(nodes[h & (capacity() - 1)], h, key);
+        if (node == null && oldNodes != null) {
+            node = findNode(oldNodes[h & (oldNodes.length - 1)], h, key);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the value associated with the given key.
+     * If the key does not exist, it returns null.
+     * 
+     * @param key the key to be searched
+     * @return the value associated with the key, or null if the key does not exist
+     */
+    public V get(K key){
+        Node<K,V> node = findNode(key);
+        return node == null ? null : node.getValue();
     }
 
     /**
@@ -219,15 +969,7 @@ public class HashMap<K,V> implements MapSet<K,V> {
      *         key to a value.
      */
     public boolean containsKey(K key){
-        int index = hash(key);
-        Node<K,V> current = nodes[index];
-        while (current != null) {
-            if (current.getKey().equals(key)) {
-                return true;
-            }
-            current = current.next;
-        }
-        return false;
+        return findNode(key) != null;
     }
 
     /**
@@ -238,11 +980,13 @@ public class HashMap<K,V> implements MapSet<K,V> {
     public ArrayList<K> keySet(){
         ArrayList<K> keySet = new ArrayList<>();
 
-        for (int i = 0; i < capacity(); i++) {
-            Node<K,V> current = nodes[i];
-            while (current != null) {
-                keySet.add(current.getKey());
-                current = current.next;
+        for (Node<K,V>[] table : tables()) {
+            for (int i = 0; i < table.length; i++) {
+                Node<K,V> current = table[i];
+                while (current != null) {
+                    keySet.add(current.getKey());
+                    current = current.next;
+                }
             }
         }
         return keySet;
@@ -258,11 +1002,13 @@ public class HashMap<K,V> implements MapSet<K,V> {
     public ArrayList<V> values(){
         ArrayList<V> valueSet = new ArrayList<>();
 
-        for (int i = 0; i < capacity(); i++) {
-            Node<K,V> current = nodes[i];
-            while (current != null) {
-                valueSet.add(current.getValue());
-                current = current.next;
+        for (Node<K,V>[] table : tables()) {
+            for (int i = 0; i < table.length; i++) {
+                Node<K,V> current = table[i];
+                while (current != null) {
+                    valueSet.add(current.getValue());
+                    current = current.next;
+                }
             }
         }
         return valueSet;
@@ -278,40 +1024,125 @@ public class HashMap<K,V> implements MapSet<K,V> {
     public ArrayList<KeyValuePair<K, V>> entrySet(){
         ArrayList<KeyValuePair<K, V>> entrySet = new ArrayList<>();
 
-        for (int i = 0; i < capacity(); i++) {
-            Node<K,V> current = nodes[i];
-            while (current != null) {
-                entrySet.add(current);
-                current = current.next;
+        for (Node<K,V>[] table : tables()) {
+            for (int i = 0; i < table.length; i++) {
+                Node<K,V> current = table[i];
+                while (current != null) {
+                    entrySet.add(current);
+                    current = current.next;
+                }
             }
         }
         return entrySet;
     }
 
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map in the same
+     * order as the keys as returned by keySet(). The pairs are the map's own
+     * nodes, reached by walking the buckets and their chains as the iterator goes.
+     * 
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, V>> iterator(){
+        return new Iterator<KeyValuePair<K, V>>() {
+            // Both tables are walked while a resize is in progress
+            private final Node<K,V>[][] tables = tables();
+            private int table = 0;
+            private int bucket = -1;
+            private Node<K,V> next = advance(null);
+
+            /**
+             * Returns the node after the given one, moving on to the next
+             * non-empty bucket at the end of a chain, or null at the end.
+             */
+            private Node<K,V> advance(Node<K,V> current) {
+                if (current != null && current.next != null) {
+                    return current.next;
+                }
+                while (table < tables.length) {
+                    while (++bucket < tables[table].length) {
+                        if (tables[table][bucket] != null) {
+                            return tables[table][bucket];
+                        }
+                    }
+                    table++;
+                    bucket = -1;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeyValuePair<K, V> next() {
+                if (next == null) throw new NoSuchElementException();
+                Node<K,V> current = next;
+                next = advance(current);
+                return current;
+            }
+        };
+    }
+
     /**
      * Returns the maximal number of iterations to find any particular element of
-     * the Map.
+     * the Map: the length of the longest chain, or the height of the tallest
+     * tree, whichever is larger.
      * 
-     * @return
+     * @return the most nodes visited to find any key
      */
     public int maxDepth(){
         int depth = 0;
 
-        for(int i=0; i<capacity(); i++){
-            int curDepth = 0;
-            Node<K,V> current = nodes[i];
-            while (current !=  null){
-                curDepth++;
-                current=current.next;
-            }
-            if (curDepth>depth){
-                depth = curDepth;
+        for(Node<K,V>[] table : tables()){
+            for(int i=0; i<table.length; i++){
+                int curDepth = 0;
+                Node<K,V> current = table[i];
+                if (isTree(current)){
+                    curDepth = current.height;
+                }
+                while (current !=  null && !isTree(current)){
+                    curDepth++;
+                    current=current.next;
+                }
+                if (curDepth>depth){
+                    depth = curDepth;
+                }
             }
         }
 
         return depth; 
     }
 
+    /**
+     * Returns how many buckets hold each number of nodes: element i of the
+     * array is the number of buckets with i nodes, up to the fullest bucket.
+     * A bucket that has been turned into a tree counts all of its nodes.
+     * 
+     * @return the number of buckets of each chain length
+     */
+    public int[] chainLengthCounts(){
+        ArrayList<Integer> lengths = new ArrayList<>();
+        int longest = 0;
+        for (Node<K,V>[] table : tables()) {
+            for (int i = 0; i < table.length; i++) {
+                int length = 0;
+                for (Node<K,V> current = table[i]; current != null; current = current.next) {
+                    length++;
+                }
+                lengths.add(length);
+                longest = Math.max(longest, length);
+            }
+        }
+        int[] counts = new int[longest + 1];
+        for (int length : lengths) {
+            counts[length]++;
+        }
+        return counts;
+    }
+
     /**
      * Removes the key-value pair with the given key from the HashMap.
      * 
@@ -319,42 +1150,24 @@ public class HashMap<K,V> implements MapSet<K,V> {
      * @return the value associated with the removed key, or null if the key does not exist
      */
     public V remove(K key){
-        int index = hash(key);
-        Node<K,V> current = nodes[index];
-        Node<K,V> previous = null;
-
-        while (current != null) {
-            if (current.getKey().equals(key)) {
-                if (previous == null) {
-                    nodes[index] = current.next;
-                } else {
-                    previous.next = current.next;
-                }
-                size--;
-                // Check if the size is less than the threshold to downsize: fC/4
-                downsize();
-                return current.getValue();
-            }
-            previous = current;
-            current = current.next;
+        int h = spread(key);
+        migrate(h);
+        int index = h & (capacity() - 1);
+        Node<K,V> current = findNode(nodes[index], h, key);
+        if (current == null) {
+            return null;
         }
-        return null;
+        removeNode(index, current);
+        return current.getValue();
     }
 
     /**
      * Upsizes the nodes array if fC>n.
      */
     private void downsize(){
-        if(size < (capacity() * maxLoadFactor)/4){
+        if(capacity() > 1 && size < (capacity() * maxLoadFactor)/4){
             // Resize the nodes array if the fC > n
-            ArrayList<KeyValuePair<K,V>> entrySet = entrySet();
-            Node<K,V>[] newNodes = (Node<K,V>[]) new Node[capacity()/2];
-            nodes = newNodes;
-            size = 0;
-
-            for (KeyValuePair<K,V> entry : entrySet) {
-                put(entry.getKey(), entry.getValue());
-            }
+            resize(capacity()/2);
         }
     }
 }
\ No newline at end of file
@@ -1,3 +1,5 @@
+import java.util.ArrayList;
+
 /**
  * Author: Muneeb Azfar Nafees
  * 
@@ -123,6 +125,175 @@ public class HashMapTester {
         }
     }
 
+    /** 
+     * Testing merge and compute
+     */
+    public static void test6(){
+        //Count repeated keys with merge and make sure it resizes like put
+        //Update, insert and remove entries with compute
+        System.out.println("-".repeat(30) + "\nTest6: ");
+        HashMap<Integer, Integer> map = new HashMap<>(4, 0.75);
+        for (int i = 0; i < 20; i++){
+            map.merge( i % 5, 1, Integer::sum );
+        }
+        System.out.println("For test 6: the following values should be equal: " );
+        System.out.println( "Size: " + map.size() + ", should be 5" );
+        System.out.println("Capacity" + " == " + map.capacity() + ", should be 8" );
+        System.out.println( "Get 3 --- Value is " + map.get( 3 ) + ", should be 4" );
+        System.out.println( "Compute 3 --- Value is " + map.compute( 3, (k, v) -> v * 10 ) + ", should be 40" );
+        System.out.println( "Compute 7 --- Value is " + map.compute( 7, (k, v) -> v == null ? 1 : v + 1 ) + ", should be 1" );
+        System.out.println( "Compute 0 --- Value is " + map.compute( 0, (k, v) -> null ) + ", should be null" );
+        System.out.println( "Contains 0: " + map.containsKey( 0 ) + ", should be false" );
+        System.out.println( "Size: " + map.size() + ", should be 5" );
+    }
+
+    /** 
+     * Testing incremental resize
+     */
+    public static void test7(){
+        //Put 1000 values into a hashmap that resizes incrementally
+        //Make sure every value can be found while old buckets are still being moved
+        //Remove most of them and make sure it shrinks and keeps the rest
+        System.out.println("-".repeat(30) + "\nTest7: ");
+        HashMap<Integer, String> map = new HashMap<>(4, 0.75, true);
+        boolean allFound = true;
+        for (int i = 0; i < 1000; i++){
+            map.put( i, "" + i );
+            for (int j = 0; j <= i; j += 37){
+                allFound = allFound && map.get( j ).equals( "" + j );
+            }
+        }
+        System.out.println("For test 7: the following values should be equal: " );
+        System.out.println( "All values found during resizes: " + allFound + ", should be true" );
+        System.out.println( "Size: " + map.size() + ", should be 1000" );
+        System.out.println( "Key set size: " + map.keySet().size() + ", should be 1000" );
+        System.out.println("Capacity" + " == " + map.capacity() + ", should be 2048" );
+        for (int i = 0; i < 990; i++){
+            map.remove( i );
+        }
+        System.out.println( "Size: " + map.size() + ", should be 10" );
+        System.out.println( "Values: " + map.values().size() + ", should be 10" );
+        System.out.println( "Get 995 --- Value is " + map.get( 995 ) + ", should be 995" );
+        System.out.println( "Capacity shrank: " + (map.capacity() < 2048) + ", should be true" );
+    }
+
+    public static void test8(){
+        //Walk a hashmap with a for-each loop and with forEach while a resize is in progress
+        //Make sure both visit every entry once, in keySet order, without copying the map
+        System.out.println("-".repeat(30) + "\nTest8: ");
+        HashMap<Integer, String> map = new HashMap<>(4, 0.75, true);
+        for (int i = 0; i < 100; i++){
+            map.put( i, "" + i );
+        }
+        int[] sum = new int[1];
+        boolean inOrder = true;
+        int index = 0;
+        ArrayList<Integer> keys = map.keySet();
+        for (MapSet.KeyValuePair<Integer, String> entry : map){
+            inOrder = inOrder && entry.getKey().equals( keys.get( index++ ) );
+            sum[0] += entry.getKey();
+        }
+        map.forEach( (key, value) -> sum[0] += Integer.parseInt( value ) );
+        System.out.println("For test 8: the following values should be equal: " );
+        System.out.println( "Resize in progress: " + map.toString().contains( "old bin" ) + ", should be true" );
+        System.out.println( "Entries visited in keySet order: " + (inOrder && index == 100) + ", should be true" );
+        System.out.println( "Sum of keys and values: " + sum[0] + ", should be 9900" );
+        System.out.println( "Empty map has no entries: " + new HashMap<Integer, String>().iterator().hasNext() + ", should be false" );
+    }
+
+    public static void test9(){
+        //Keys whose hash codes differ only in their high bits, and negative hash codes
+        //Make sure spreading gives each key its own bucket and every key is found after resizes
+        System.out.println("-".repeat(30) + "\nTest9: ");
+        HashMap<Integer, Integer> map = new HashMap<>(10, 0.75);
+        int capacity = map.capacity();
+        for (int i = 0; i < 12; i++){
+            map.put( i << 16, i );
+        }
+        map.put( Integer.MIN_VALUE, -1 );
+        map.put( -7, -7 );
+        boolean found = map.get( Integer.MIN_VALUE ) == -1 && map.get( -7 ) == -7;
+        for (int i = 0; i < 12; i++){
+            found = found && map.get( i << 16 ) == i;
+        }
+        for (int i = 0; i < 1000; i++){
+            map.put( -i * 31, i );
+        }
+        for (int i = 0; i < 1000; i++){
+            found = found && map.get( -i * 31 ) == i;
+        }
+        System.out.println("For test 9: the following values should be equal: " );
+        System.out.println( "Capacity rounded up to a power of two: " + capacity + ", should be 16" );
+        System.out.println( "Every key found after resizing: " + found + ", should be true" );
+        System.out.println( "Capacity is a power of two: " + (Integer.bitCount( map.capacity() ) == 1) + ", should be true" );
+    }
+
+    public static void test10(){
+        //Put 1000 keys that all hash to the same bucket, then remove all but 5
+        //Make sure the bucket becomes a tree, so lookups stay short, and a chain again once it is small
+        System.out.println("-".repeat(30) + "\nTest10: ");
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75, false, key -> 42);
+        for (int i = 0; i < 1000; i++){
+            map.put( i, i );
+        }
+        boolean found = true;
+        for (int i = 0; i < 1000; i++){
+            found = found && map.get( i ) == i;
+        }
+        int treeDepth = map.maxDepth();
+        for (int i = 5; i < 1000; i++){
+            map.remove( i );
+        }
+        found = found && map.keySet().size() == 5 && map.get( 4 ) == 4 && !map.containsKey( 5 );
+        System.out.println("For test 10: the following values should be equal: " );
+        System.out.println( "Every key found: " + found + ", should be true" );
+        System.out.println( "Max depth of 1000 colliding keys: " + treeDepth + ", should be at most 15" );
+        System.out.println( "Max depth after removing all but 5: " + map.maxDepth() + ", should be 5" );
+    }
+
+    public static void test11(){
+        //Hold the entries of a chain while it becomes a tree, and while it becomes a chain again
+        //Make sure the held entries are still the map's own and setValue still changes the map
+        System.out.println("-".repeat(30) + "\nTest11: ");
+        HashMap<Integer, Integer> map = new HashMap<>(16, 0.75, false, key -> 42);
+        for (int i = 0; i < 8; i++){
+            map.put( i, i );
+        }
+        ArrayList<MapSet.KeyValuePair<Integer, Integer>> held = map.entrySet();
+        for (int i = 8; i < 12; i++){
+            map.put( i, i );
+        }
+        int treeDepth = map.maxDepth();
+        boolean sameEntries = true;
+        for (MapSet.KeyValuePair<Integer, Integer> entry : map){
+            boolean isHeld = false;
+            for (MapSet.KeyValuePair<Integer, Integer> h : held){
+                isHeld = isHeld || h == entry;
+            }
+            sameEntries = sameEntries && (isHeld || entry.getKey() >= 8);
+        }
+        for (MapSet.KeyValuePair<Integer, Integer> entry : held){
+            entry.setValue( entry.getKey() + 100 );
+        }
+        boolean writtenInTree = true;
+        for (int i = 0; i < 8; i++){
+            writtenInTree = writtenInTree && map.get( i ) == i + 100;
+        }
+        for (int i = 3; i < 12; i++){
+            map.remove( i );
+        }
+        for (int i = 0; i < 3; i++){
+            held.get( i ).setValue( i + 200 );
+        }
+        boolean writtenInChain = map.get( 0 ) == 200 && map.get( 1 ) == 201 && map.get( 2 ) == 202;
+        System.out.println("For test 11: the following values should be equal: " );
+        System.out.println( "Bucket became a tree: " + (treeDepth < 12) + ", should be true" );
+        System.out.println( "Tree holds the same entries: " + sameEntries + ", should be true" );
+        System.out.println( "setValue on held entries changed the tree: " + writtenInTree + ", should be true" );
+        System.out.println( "Bucket became a chain: " + map.maxDepth() + ", should be 3" );
+        System.out.println( "setValue on held entries changed the chain: " + writtenInChain + ", should be true" );
+    }
+
     /**
      * Main method to run all tests
      */
@@ -132,6 +303,12 @@ public class HashMapTester {
         test3();
         test4();
         test5();
+        test6();
+        test7();
+        test8();
+        test9();
+        test10();
+        test11();
     }
 
 }
\ No newline at end of file
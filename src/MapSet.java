@@ -8,8 +8,11 @@
  * @author srtaylor, bmaxwell, mbender
  */
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
-public interface MapSet<K, V> {
+public interface MapSet<K, V> extends Iterable<MapSet.KeyValuePair<K, V>> {
 
     public class KeyValuePair<K, V> {
 
@@ -70,6 +73,32 @@ public interface MapSet<K, V> {
      */
     public V get(K key);
 
+    /**
+     * If the specified key is not already associated with a value, associates it
+     * with the given value. Otherwise, replaces the associated value with the result
+     * of the given remapping function, or removes it if the result is {@code null}.
+     * The entry is located (or inserted) in a single traversal of the map.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param value             the value to be associated with {@code key} if it is absent
+     * @param remappingFunction the function to recompute a value if {@code key} is present
+     * @return the new value associated with {@code key}, or {@code null} if no
+     *         value is associated with {@code key}
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Attempts to compute a mapping for the specified key and its current mapped
+     * value ({@code null} if there is no current mapping). If the function returns
+     * {@code null}, the mapping is removed (or remains absent if initially absent).
+     * The entry is located (or inserted) in a single traversal of the map.
+     *
+     * @param key               key with which the resulting value is to be associated
+     * @param remappingFunction the function to compute a value
+     * @return the new value associated with {@code key}, or {@code null} if none
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction);
+
     /**
      * Removes the mapping for a key from this map if it is present. More formally,
      * if this map contains a mapping from key {@code k} to value {@code v} such
@@ -107,6 +136,28 @@ public interface MapSet<K, V> {
      */
     public ArrayList<KeyValuePair<K, V>> entrySet();
 
+    /**
+     * Returns an iterator over each {@code KeyValuePair} in the map, in the same
+     * order as the keys as returned by keySet(). The iterator walks the map's own
+     * storage as it goes, so nothing is copied up front; the map must not be
+     * changed while the iterator is in use.
+     *
+     * @return an iterator over each {@code KeyValuePair} in the map
+     */
+    public Iterator<KeyValuePair<K, V>> iterator();
+
+    /**
+     * Performs the given action for each key and value in the map, in the same
+     * order as the keys as returned by keySet(), without copying the map.
+     *
+     * @param action the action to be performed for each key and value
+     */
+    public default void forEach(BiConsumer<? super K, ? super V> action) {
+        for (KeyValuePair<K, V> entry : this) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Returns the number of key-value mappings in this map.
      *
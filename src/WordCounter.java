@@ -3,10 +3,13 @@ file name:      WordCounter.java
 Authors:        Ike Lage 
 last modified:  23/04/2025 by Muneeb Azfar Nafees
 
-How to run:     java WordCounter
+How to run:     java WordCounter [results.csv | results.json]
 */
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
 import java.io.* ;
 
 
@@ -30,6 +33,29 @@ public class WordCounter {
 
 		ArrayList <String> words = new ArrayList<String>() ;
 
+		try {
+		  // memory-map the file and split its bytes on whitespace: no regex and no String per line
+		  WordReader.forEachWord( filename , words::add ) ;
+
+		  this.wordCount = words.size() ;
+
+		  return words ;
+		}
+		catch(FileNotFoundException ex) {
+		  System.out.println("WordCounter.readWords():: unable to open file " + filename );
+		}
+		catch(IOException ex) {
+		  System.out.println("WordCounter.readWords():: error reading file " + filename);
+		}
+
+		return null ;
+	}
+
+	//the original line-by-line reader: BufferedReader.readLine() and String.split() on every line. Kept for comparison.
+	public ArrayList<String> readWordsByLine( String filename ) {
+
+		ArrayList <String> words = new ArrayList<String>() ;
+
 		try {
 		  // assign to a variable of type FileReader a new FileReader object, passing filename to the constructor
 		  FileReader fr = new FileReader(filename);
@@ -67,22 +93,44 @@ public class WordCounter {
 	//given an ArrayList of words, put the words into the map data structure. Return the time taken in ms.
 	public double buildMap( ArrayList<String> words ) {
 
-		long startTime = System.currentTimeMillis() ;
+		long startTime = System.nanoTime() ;
 
 		for ( String word : words ) {
-
-			if ( this.wordCounts.containsKey( word ) ) {
-				this.wordCounts.put( word , this.wordCounts.get( word ) + 1 );
-			} else {
-				this.wordCounts.put( word , 1 );
-			}
+			// locate or insert the word's entry in a single traversal of the map
+			this.wordCounts.merge( word , 1 , Integer::sum );
 		}
 
-		long totalTime = System.currentTimeMillis() - startTime ;
+		double totalTime = ( System.nanoTime() - startTime ) / 1e6 ;
 		return totalTime ;
 	}
 
-	//return the total word count from the last time readWords was called.
+	//given the filename of a text file, count its words straight into the map data structure without
+	//building a list of all the words, and add them to the total word count. Return the time taken in ms, or -1 if the file could not be read.
+	public double countFile( String filename ) {
+
+		long startTime = System.nanoTime() ;
+
+		try {
+		  // tokenize and count in the same pass; only the vocabulary is kept on the heap
+		  WordReader.forEachWord( filename , word -> {
+		  	this.wordCounts.merge( word , 1 , Integer::sum ) ;
+		  	this.wordCount ++ ;
+		  } ) ;
+
+		  double totalTime = ( System.nanoTime() - startTime ) / 1e6 ;
+		  return totalTime ;
+		}
+		catch(FileNotFoundException ex) {
+		  System.out.println("WordCounter.countFile():: unable to open file " + filename );
+		}
+		catch(IOException ex) {
+		  System.out.println("WordCounter.countFile():: error reading file " + filename);
+		}
+
+		return -1 ;
+	}
+
+	//return the total word count from the last time readWords was called, plus any words counted by countFile.
 	public int totalWordCount() {
 		return this.wordCount ;
 	}
@@ -119,10 +167,9 @@ public class WordCounter {
 		 	// assign to a variable of type FileReader a new FileReader object, passing filename to the constructor
 		 	FileWriter fw = new FileWriter(filename);
 			fw.write( Integer.toString( this.totalWordCount() ) + "\n" ) ;
-			ArrayList <String> keys = this.wordCounts.keySet() ;
-			ArrayList <Integer> values = this.wordCounts.values() ;
-			for ( int i = 0 ; i < keys.size() ; i ++  ) {
-				fw.write( keys.get( i ) + " - " + Integer.toString( values.get( i ) ) + "\n" );
+			// walk the map's entries directly instead of copying its keys and values into lists
+			for ( MapSet.KeyValuePair<String, Integer> entry : this.wordCounts ) {
+				fw.write( entry.getKey() + " - " + Integer.toString( entry.getValue() ) + "\n" );
 			}
 			fw.close() ;
 			return true ;
@@ -138,24 +185,62 @@ public class WordCounter {
 	}
 
     /**
-     * Returns the top 10 words in the wordCounts map.
+     * Returns the k most frequent words in the wordCounts map, most frequent first,
+     * with ties broken alphabetically. If the map holds fewer than k words, all of
+     * them are returned. Only a min-heap of the k best entries seen so far is kept,
+     * so this takes O(n log k) time and O(k) extra memory instead of sorting every word.
+     * @param k the number of words to return
+     * @return the top k words and their counts, most frequent first
+     */
+    public ArrayList<MapSet.KeyValuePair<String, Integer>> getTopK(int k){
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        // Orders entries from least to most frequent, so the heap's head is the first to be evicted
+        Comparator<MapSet.KeyValuePair<String, Integer>> byCount = (a, b) -> {
+            int cmp = a.getValue().compareTo(b.getValue());
+            return cmp != 0 ? cmp : b.getKey().compareTo(a.getKey());
+        };
+        PriorityQueue<MapSet.KeyValuePair<String, Integer>> heap = new PriorityQueue<>(Math.min(k, this.wordCounts.size()) + 1, byCount);
+
+        for (MapSet.KeyValuePair<String, Integer> keyValuePair : this.wordCounts) {
+            if (heap.size() < k) {
+                heap.add(keyValuePair);
+            }
+            else if (byCount.compare(keyValuePair, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(keyValuePair);
+            }
+        }
+
+        ArrayList<MapSet.KeyValuePair<String, Integer>> topK = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            topK.add(heap.poll());
+        }
+        Collections.reverse(topK);
+        return topK;
+    }
+
+    /**
+     * Returns the top 10 words in the wordCounts map, or every word if there are fewer than 10.
      * @return a string representation of the top 10 words and their counts.
      */
     public String getTop10Words(){
         StringBuilder sb = new StringBuilder();
 
-        // Sort the entry set by value in descending order
-        ArrayList<MapSet.KeyValuePair<String, Integer>> entrySet = this.wordCounts.entrySet();
-        entrySet.sort((a,b) -> b.getValue().compareTo(a.getValue()));
-        
-        for (int i = 0; i < 10; i++) {
-            MapSet.KeyValuePair<String, Integer> keyValuePair = entrySet.get(i);
+        for (MapSet.KeyValuePair<String, Integer> keyValuePair : getTopK(10)) {
             sb.append(keyValuePair.getKey()).append(": ").append(keyValuePair.getValue()).append("\n");
         }
 
         return sb.toString();
     }
 
+	//time buildMap on the given words with the harness, clearing the map before each run, and print the result.
+	private static void timeBuildMap( BenchmarkHarness harness , String label , WordCounter wc , ArrayList<String> words ) {
+		System.out.println( harness.run( label , words.size() , wc::clearMap , () -> wc.buildMap( words ) ) ) ;
+	}
+
 	public static void main( String[] args ) {
 		//Choose file for a specific year -- this is a sample for 2008
 		String filenameR = "CLEANED_reddit_comments_2015.txt" ;
@@ -185,38 +270,20 @@ public class WordCounter {
         WordCounter wcRHash = new WordCounter( "HashMap" ) ;
         WordCounter wcSHash = new WordCounter( "HashMap" ) ;
 
-        wcR.clearMap();
-        wcS.clearMap();
-
-        double timeR = 0.0;
-        double timeRHash = 0.0;
-        double timeS = 0.0;
-        double timeSHash = 0.0;
-
-		//For each of the 10 trials, build the map and time it
-        for(int i=0; i<10; i++){
-            timeR += wcR.buildMap(wordsR);
-            timeS += wcS.buildMap(wordsS);
-            timeRHash += wcRHash.buildMap(wordsR);
-            timeSHash += wcSHash.buildMap(wordsS);
-
-            wcR.clearMap();
-            wcS.clearMap();
-            wcRHash.clearMap();
-            wcSHash.clearMap();
-        }
+		//Time building each map: 5 warm-up runs are discarded, then 20 runs are timed
+        BenchmarkHarness harness = new BenchmarkHarness( 5 , 20 ) ;
+        timeBuildMap( harness , "Reddit comments (BST)" , wcR , wordsR ) ;
+        timeBuildMap( harness , "Reddit comments (HashMap)" , wcRHash , wordsR ) ;
+        timeBuildMap( harness , "Shakespeare (BST)" , wcS , wordsS ) ;
+        timeBuildMap( harness , "Shakespeare (HashMap)" , wcSHash , wordsS ) ;
 
-		//Print the average time taken for to build the map using each data structure
-        System.out.println("Average time for Reddit comments (BST): " + (timeR/10) + " ms");
-        System.out.println("Average time for Reddit comments (HashMap): " + (timeRHash/10) + " ms");
-        System.out.println("Average time for Shakespeare (BST): " + (timeS/10) + " ms");
-        System.out.println("Average time for Shakespeare (HashMap): " + (timeSHash/10) + " ms");
+		//Write the results as CSV, or as JSON if the filename ends in .json
+        if ( args.length > 0 ) {
+            harness.write( args[0] ) ;
+        }
 
         System.out.println("-".repeat(50)+"\nRequired Analysis 3\n");
-        wcR.buildMap(wordsR);
-        wcS.buildMap(wordsS);
-        wcRHash.buildMap(wordsR);
-        wcSHash.buildMap(wordsS);
+		//Each map still holds the words from its last timed run
 
 		//Print the max depth of each data structure
         System.out.println("Max depth for Reddit comments (BST): " + wcR.wordCounts.maxDepth());